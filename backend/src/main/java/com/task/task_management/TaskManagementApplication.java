@@ -4,10 +4,14 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Encoders;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.crypto.SecretKey;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class TaskManagementApplication {
 
 	public static void main(String[] args) {
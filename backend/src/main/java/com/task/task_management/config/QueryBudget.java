@@ -0,0 +1,25 @@
+package com.task.task_management.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements one request to the annotated endpoint may run (see
+ * {@link QueryCountFilter}); endpoints without it get {@code tasks.query-budget.default}.
+ * Batch endpoints add {@link #perBatch()} for every {@code hibernate.jdbc.batch_size}
+ * items they report through {@link QueryCountFilter#countItems(int)}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    // For endpoints whose statement count grows with the input, e.g. imports.
+    int UNLIMITED = -1;
+
+    int value();
+
+    // Statements per JDBC batch, one per batched statement shape.
+    int perBatch() default 0;
+}
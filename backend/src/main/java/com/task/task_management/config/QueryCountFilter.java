@@ -0,0 +1,122 @@
+package com.task.task_management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request runs and checks them against the endpoint's
+ * {@link QueryBudget}, to catch N+1 queries (a lazy association touched per row). Over
+ * budget requests are logged, or fail when {@code tasks.query-budget.fail} is set (tests).
+ * With {@code tasks.query-count.header} the count is sent as {@code X-Query-Count}, as it
+ * stood when the response was committed. Runs before security, so its queries count too;
+ * work on async threads (export, stream) does not. Batch handlers call
+ * {@link #countItems(int)} so their budget can grow with the batch.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    static final String HEADER = "X-Query-Count";
+    private static final String ITEMS = QueryCountFilter.class.getName() + ".items";
+
+    private final SqlStatementCounter counter;
+    private final boolean header;
+    private final int defaultBudget;
+    private final boolean fail;
+    private final int jdbcBatchSize;
+
+    public QueryCountFilter(SqlStatementCounter counter,
+                            @Value("${tasks.query-count.header:false}") boolean header,
+                            @Value("${tasks.query-budget.default:10}") int defaultBudget,
+                            @Value("${tasks.query-budget.fail:false}") boolean fail,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1}") int jdbcBatchSize) {
+        this.counter = counter;
+        this.header = header;
+        this.defaultBudget = defaultBudget;
+        this.fail = fail;
+        this.jdbcBatchSize = Math.max(jdbcBatchSize, 1);
+    }
+
+    /**
+     * Records how many items the current request writes, for {@link QueryBudget#perBatch()}.
+     */
+    public static void countItems(int items) {
+        RequestContextHolder.currentRequestAttributes().setAttribute(ITEMS, items, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpServletResponse counted = header ? new CountHeaderResponse(response) : response;
+        counter.start();
+        int statements;
+        try {
+            chain.doFilter(request, counted);
+        } finally {
+            statements = counter.stop();
+        }
+        if (header && !response.isCommitted()) {
+            response.setIntHeader(HEADER, statements);
+        }
+        check(request, statements);
+    }
+
+    private void check(HttpServletRequest request, int statements) {
+        int budget = budget(request);
+        if (budget == QueryBudget.UNLIMITED || statements <= budget) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String message = String.format("%s %s ran %d SQL statements, over its budget of %d", request.getMethod(),
+                pattern != null ? pattern : request.getRequestURI(), statements, budget);
+        if (fail) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private int budget(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+            if (budget != null) {
+                if (budget.value() == QueryBudget.UNLIMITED
+                        || !(request.getAttribute(ITEMS) instanceof Integer items)) {
+                    return budget.value();
+                }
+                int batches = (items + jdbcBatchSize - 1) / jdbcBatchSize;
+                return budget.value() + budget.perBatch() * batches;
+            }
+        }
+        return defaultBudget;
+    }
+
+    private final class CountHeaderResponse extends OnCommittedResponseWrapper {
+
+        CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setIntHeader(HEADER, counter.current());
+        }
+    }
+}
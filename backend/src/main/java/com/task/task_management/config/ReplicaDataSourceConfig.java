@@ -0,0 +1,78 @@
+package com.task.task_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas, enabled by {@code tasks.datasource.replica-urls}. The application's
+ * {@link DataSource} hands out a connection only when the first statement runs; by then
+ * Spring has marked it read-only for {@code @Transactional(readOnly = true)} work, which then
+ * runs on a {@link ReplicaRoutingDataSource} connection. Everything else, including Flyway,
+ * uses the primary pool. Without replica URLs the auto-configured single pool is used.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${tasks.datasource.replica-urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    private static final String PRIMARY_POOL = "primary";
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY_POOL);
+        return dataSource;
+    }
+
+    // Replica pools copy the primary's settings; they get their own hikaricp.* meters,
+    // tagged pool=replica-1, replica-2, ...
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+            HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+            @Value("${tasks.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${tasks.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${tasks.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${tasks.datasource.replica-connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${tasks.datasource.replica-retry-after:30s}") Duration retryAfter,
+            @Value("${tasks.datasource.sticky-window:5s}") Duration stickyWindow) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(PRIMARY_POOL, primaryDataSource, replicas, stickyWindow, retryAfter,
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
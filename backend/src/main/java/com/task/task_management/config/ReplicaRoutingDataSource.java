@@ -0,0 +1,142 @@
+package com.task.task_management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task.task_management.security.UserPrincipal;
+import com.task.task_management.service.TaskChangedEvent;
+import com.zaxxer.hikari.pool.HikariPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions (see {@link ReplicaDataSourceConfig}). Replicas are
+ * used round-robin; one that cannot hand out a connection is skipped for a while, and with
+ * none left the primary serves the read. A user whose tasks changed within the sticky window
+ * reads from the primary, so they see their own writes however far the replicas lag behind
+ * it, as long as the lag stays under the window. Recent writers are only known to this
+ * instance, so the guarantee holds when each user's requests reach the same instance.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String METRIC = "tasks.datasource.connections";
+
+    private final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final Counter reads;
+        volatile long downUntil;
+
+        Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = counter(meterRegistry, name, "read");
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration retryAfter;
+    private final Cache<Long, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(String primaryName, DataSource primary, Map<String, DataSource> replicas,
+                                    Duration stickyWindow, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+        this.retryAfter = retryAfter;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(stickyWindow).build();
+        this.stickyReads = counter(meterRegistry, primaryName, "sticky");
+        this.fallbackReads = counter(meterRegistry, primaryName, "fallback");
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent change) {
+        recentWriters.put(change.userId(), Boolean.TRUE);
+    }
+
+    // DataSource::getConnection, or the same with explicit credentials
+    @FunctionalInterface
+    private interface Connect {
+        Connection to(DataSource dataSource) throws SQLException;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(Connect connect) throws SQLException {
+        Long userId = currentUserId();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            stickyReads.increment();
+            return connect.to(primary);
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.downUntil > System.nanoTime()) {
+                continue;
+            }
+            try {
+                Connection connection = connect.to(replica.dataSource);
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException | HikariPool.PoolInitializationException e) {
+                log.warn("Replica {} is unavailable, skipping it for {}", replica.name, retryAfter, e);
+                replica.downUntil = System.nanoTime() + retryAfter.toNanos();
+            }
+        }
+        fallbackReads.increment();
+        return connect.to(primary);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder(METRIC)
+                .description("Connections handed out for read-only transactions")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.task.task_management.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Fails startup when an index declared in an entity's {@code @Table(indexes = ...)}
+ * is missing from the database or covers different columns. The indexes themselves
+ * are created by the Flyway migrations; the annotations are the list of what the
+ * queries rely on.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SchemaIndexVerifier(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        verify();
+    }
+
+    public void verify() throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = entity.getJavaType().getAnnotation(Table.class);
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+                Map<String, List<String>> actual = readIndexes(connection, metaData, table.name());
+                for (Index index : table.indexes()) {
+                    List<String> expectedColumns = columnNames(index.columnList());
+                    List<String> actualColumns = actual.get(index.name().toLowerCase(Locale.ROOT));
+                    if (actualColumns == null) {
+                        problems.add(table.name() + "." + index.name() + " is missing");
+                    } else if (!actualColumns.equals(expectedColumns)) {
+                        problems.add(table.name() + "." + index.name() + " covers " + actualColumns
+                                + ", expected " + expectedColumns);
+                    }
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Database is missing expected indexes: " + problems);
+        }
+    }
+
+    private static Map<String, List<String>> readIndexes(Connection connection, DatabaseMetaData metaData,
+                                                         String table) throws SQLException {
+        Map<String, SortedMap<Short, String>> columnsByIndex = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName.toLowerCase(Locale.ROOT), name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, List<String>> indexes = new HashMap<>();
+        columnsByIndex.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+        return indexes;
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        return name;
+    }
+
+    // "user_id, created_at desc" -> [user_id, created_at]
+    private static List<String> columnNames(String columnList) {
+        List<String> columns = new ArrayList<>();
+        for (String part : columnList.split(",")) {
+            columns.add(part.trim().split("\\s+")[0].toLowerCase(Locale.ROOT));
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.task_management.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start} and {@link #stop}; a JDBC batch counts once. Statements on other threads,
+ * and JDBC calls that bypass Hibernate, are not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    public int current() {
+        int[] value = count.get();
+        return value != null ? value[0] : 0;
+    }
+
+    public int stop() {
+        int current = current();
+        count.remove();
+        return current;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] value = count.get();
+        if (value != null) {
+            value[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
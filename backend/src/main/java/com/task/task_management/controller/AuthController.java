@@ -1,6 +1,7 @@
 package com.task.task_management.controller;
 
 
+import com.task.task_management.config.QueryBudget;
 import com.task.task_management.dto.AuthResponse;
 import com.task.task_management.dto.LoginRequest;
 import com.task.task_management.dto.RegisterRequest;
@@ -23,12 +24,14 @@ public class AuthController {
         this.authService = authService;
     }
 
+    @QueryBudget(6)
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         return ResponseEntity.ok(authService.register(request));
 
     }
 
+    @QueryBudget(6)
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
@@ -1,75 +1,293 @@
 package com.task.task_management.controller;
 
 
+import com.task.task_management.config.QueryBudget;
+import com.task.task_management.config.QueryCountFilter;
+import com.task.task_management.dto.TaskBatchUpdateRequest;
+import com.task.task_management.dto.TaskOperationResponse;
 import com.task.task_management.dto.TaskRequest;
 import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskStatusRequest;
 import com.task.task_management.dto.TaskUpdateRequest;
+import com.task.task_management.repository.TaskFilter;
+import com.task.task_management.security.UserPrincipal;
+import com.task.task_management.service.TaskBatchService;
+import com.task.task_management.service.TaskExportService;
+import com.task.task_management.service.TaskFileFormat;
+import com.task.task_management.service.TaskImportService;
+import com.task.task_management.service.TaskSearchService;
 import com.task.task_management.service.TaskService;
+import com.task.task_management.service.TaskStreamService;
+import com.task.task_management.service.TaskSyncService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/tasks")
 @CrossOrigin(origins = "*")
 public class TaskController {
 
+    // Clients may store responses but must revalidate them with If-None-Match.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskStreamService taskStreamService;
+    private final TaskSyncService taskSyncService;
+    private final TaskSearchService taskSearchService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService,
+                          TaskStreamService taskStreamService, TaskSyncService taskSyncService,
+                          TaskSearchService taskSearchService, TaskExportService taskExportService,
+                          TaskImportService taskImportService) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.taskStreamService = taskStreamService;
+        this.taskSyncService = taskSyncService;
+        this.taskSearchService = taskSearchService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
     }
 
+    @QueryBudget(5)
     @PostMapping
     public ResponseEntity<?> createTask(
             @Valid @RequestBody TaskRequest request,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String userEmail = authentication.getName();
-        TaskResponse response = taskService.createTask(request, userEmail);
+        TaskResponse response = taskService.createTask(request, principal.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Statements per JDBC batch: the INSERT.
+    @QueryBudget(value = 3, perBatch = 1)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(
+            @RequestBody List<TaskRequest> requests,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        QueryCountFilter.countItems(requests.size());
+        return ResponseEntity.ok(taskBatchService.createTasks(requests, principal.getId()));
+    }
+
+    // Statements per JDBC batch: the UPDATE.
+    @QueryBudget(value = 4, perBatch = 1)
+    @PatchMapping("/batch")
+    public ResponseEntity<?> updateTasks(
+            @RequestBody List<TaskBatchUpdateRequest> requests,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        QueryCountFilter.countItems(requests.size());
+        // Null items are reported per item by the batch.
+        taskService.awaitPendingWrites(requests.stream()
+                .filter(Objects::nonNull)
+                .map(TaskBatchUpdateRequest::getId)
+                .toList());
+        return ResponseEntity.ok(taskBatchService.updateTasks(requests, principal.getId()));
+    }
+
+    // Set-based: every statement takes the whole id list.
+    @QueryBudget(5)
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteTasks(
+            @RequestBody List<Long> ids,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        taskService.awaitPendingWrites(ids);
+        return ResponseEntity.ok(taskBatchService.deleteTasks(ids, principal.getId()));
+    }
+
+    @QueryBudget(3)
     @GetMapping
     public ResponseEntity<?> getTasks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Authentication authentication
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String titlePrefix,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest webRequest
+    ) {
+        Long userId = principal.getId();
+        TaskFilter filter = TaskFilter.of(status, createdFrom, createdTo, titlePrefix, sort, order);
+        if (cursor != null && !filter.isDefault()) {
+            throw new RuntimeException("Cursor paging only supports the default order without filters; use page");
+        }
+        Supplier<Object> body = switch (view) {
+            case "full" -> () -> cursor != null
+                    ? taskService.getUserTasksAfter(userId, cursor, size)
+                    : taskService.getUserTasks(userId, filter, page, size);
+            case "summary" -> () -> cursor != null
+                    ? taskService.getUserTaskSummariesAfter(userId, cursor, size)
+                    : taskService.getUserTaskSummaries(userId, filter, page, size);
+            default -> throw new RuntimeException("View must be one of: full, summary");
+        };
+        // Every page of the list shares the user's list version; the query string
+        // already makes each page a separate resource for caches.
+        return conditional(webRequest, userId + "." + taskService.getTaskListTag(userId), body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        return taskStreamService.subscribe(principal.getId(), lastEventId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        Long userId = principal.getId();
+        TaskFileFormat exportFormat = TaskFileFormat.from(format);
+        StreamingResponseBody body = out -> taskExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
+    @QueryBudget(QueryBudget.UNLIMITED)
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<?> importTasks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) throws IOException {
+        TaskFileFormat format = TaskFileFormat.from(MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(taskImportService.importTasks(principal.getId(), format, body));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> getTaskChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        return ResponseEntity.ok(taskSyncService.getChanges(principal.getId(), since));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        return ResponseEntity.ok(taskSearchService.search(principal.getId(), q, cursor, size));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getTaskStats(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.getTaskStats(principal.getId()));
+    }
+
+    @GetMapping("/operations/{operationId}")
+    public ResponseEntity<?> getOperation(
+            @PathVariable Long operationId,
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String userEmail = authentication.getName();
-        return ResponseEntity.ok(taskService.getUserTasks(userEmail, page, size));
+        return ResponseEntity.ok(taskService.getOperation(operationId, principal.getId()));
     }
 
+    @QueryBudget(2)
     @GetMapping("/{id}")
     public ResponseEntity<?> getTask(
             @PathVariable Long id,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest webRequest
     ) {
-        String userEmail = authentication.getName();
-        return ResponseEntity.ok(taskService.getTaskById(id, userEmail));
+        Long userId = principal.getId();
+        return conditional(webRequest, id + "." + taskService.getTaskTag(id, userId),
+                () -> taskService.getTaskById(id, userId));
     }
 
+    @QueryBudget(4)
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody TaskUpdateRequest request,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String userEmail = authentication.getName();
-        return ResponseEntity.ok(taskService.updateTask(id, request, userEmail));
+        taskService.awaitPendingWrites(id);
+        return ResponseEntity.ok(taskService.updateTask(id, request, principal.getId()));
     }
 
+    // With Prefer: respond-async the change is journaled and applied in the background;
+    // the 202 carries an operation to poll. Falls back to a synchronous write when the
+    // write-behind queue is full.
+    @QueryBudget(3)
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<?> updateTaskStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskStatusRequest request,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        Long userId = principal.getId();
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            Long operationId = taskService.submitTaskStatus(id, request.getStatus(), userId);
+            if (operationId != null) {
+                return ResponseEntity.accepted()
+                        .header("Preference-Applied", RESPOND_ASYNC)
+                        .location(URI.create("/tasks/operations/" + operationId))
+                        .body(new TaskOperationResponse(operationId, "pending", null));
+            }
+        }
+        taskService.awaitPendingWrites(id);
+        taskService.updateTaskStatus(id, request.getStatus(), userId);
+        return ResponseEntity.ok(Map.of("id", id, "status", request.getStatus().getValue()));
+    }
+
+    @QueryBudget(4)
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTask(
             @PathVariable Long id,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String userEmail = authentication.getName();
-        taskService.deleteTask(id, userEmail);
+        taskService.awaitPendingWrites(id);
+        taskService.deleteTask(id, principal.getId());
         return ResponseEntity.ok(Map.of("message", "Task deleted successfully"));
     }
-}
\ No newline at end of file
+
+    // The version is read before the body, so a concurrent write can only leave the
+    // ETag older than the body (one extra 200 later), never a 304 for changed data.
+    // checkNotModified writes the ETag header on both branches.
+    private static ResponseEntity<?> conditional(WebRequest webRequest, String version, Supplier<?> body) {
+        String etag = "\"" + version + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+}
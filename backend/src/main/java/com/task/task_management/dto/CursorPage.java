@@ -0,0 +1,18 @@
+package com.task.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,25 @@
+package com.task.task_management.dto;
+
+import com.task.task_management.entity.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchUpdateRequest {
+
+    @NotNull(message = "Id is required")
+    private Long id;
+
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    @Size(max = 5000, message = "Description must not exceed 5000 characters")
+    private String description;
+
+    private TaskStatus status;
+}
@@ -0,0 +1,20 @@
+package com.task.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+
+    // Pass back as ?since= on the next call.
+    private long watermark;
+    // The changes cannot be listed; reload the whole list, then sync from watermark.
+    private boolean reset;
+    private List<TaskResponse> changed;
+    private List<Long> deleted;
+}
@@ -0,0 +1,15 @@
+package com.task.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportError {
+
+    // 1-based line of the input the rejected row starts on.
+    private long line;
+    private String error;
+}
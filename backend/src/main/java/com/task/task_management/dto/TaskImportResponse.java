@@ -0,0 +1,20 @@
+package com.task.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+
+    private long imported;
+    private long failed;
+    // The first rejected rows only; failed has the full count.
+    private List<TaskImportError> errors;
+    // False when unreadable input stopped the import; the rows before it were imported.
+    private boolean complete;
+}
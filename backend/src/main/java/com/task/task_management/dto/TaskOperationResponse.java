@@ -0,0 +1,16 @@
+package com.task.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An asynchronous status update: pending, applied or failed (with the reason).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperationResponse {
+
+    private long operationId;
+    private String state;
+    private String error;
+}
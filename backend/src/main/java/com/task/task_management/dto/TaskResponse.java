@@ -1,6 +1,8 @@
 package com.task.task_management.dto;
 
 
+import com.task.task_management.entity.Task;
+import com.task.task_management.entity.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,5 +21,16 @@ public class TaskResponse {
     private LocalDateTime createdAt;
     private Long userId;
 
+    // Used by the JPQL constructor expressions in TaskRepository.
+    public TaskResponse(Long id, String title, String description, TaskStatus status,
+                        LocalDateTime createdAt, Long userId) {
+        this(id, title, description, status.getValue(), createdAt, userId);
+    }
+
+    public static TaskResponse from(Task task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreatedAt(), task.getUser().getId());
+    }
+
 }
 
@@ -0,0 +1,16 @@
+package com.task.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+
+    private long pending;
+    private long inProgress;
+    private long done;
+    private long total;
+}
@@ -0,0 +1,16 @@
+package com.task.task_management.dto;
+
+import com.task.task_management.entity.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
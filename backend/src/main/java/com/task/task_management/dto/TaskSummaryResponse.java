@@ -0,0 +1,28 @@
+package com.task.task_management.dto;
+
+
+import com.task.task_management.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// List-view variant of TaskResponse without the description.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummaryResponse {
+
+    private Long id;
+    private String title;
+    private String status;
+    private LocalDateTime createdAt;
+    private Long userId;
+
+    // Used by the JPQL constructor expressions in TaskRepository.
+    public TaskSummaryResponse(Long id, String title, TaskStatus status, LocalDateTime createdAt, Long userId) {
+        this(id, title, status.getValue(), createdAt, userId);
+    }
+
+}
@@ -9,14 +9,24 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_created_id", columnList = "user_id, created_at desc, id desc"),
+        @Index(name = "idx_tasks_user_list_version", columnList = "user_id, list_version"),
+        @Index(name = "idx_tasks_user_status_created_id", columnList = "user_id, status, created_at desc, id desc"),
+        @Index(name = "idx_tasks_user_title_id", columnList = "user_id, title, id"),
+        @Index(name = "idx_tasks_user_status_title_id", columnList = "user_id, status, title, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
 
+    // Pooled table ids (not IDENTITY) so inserts can be JDBC-batched; the block
+    // size must match the increment assumed by the V3 migration seed.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +43,16 @@ public class Task {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Bulk updates in TaskRepository increment this explicitly.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // The owner's list version of the last write to this row: the watermark
+    // GET /tasks/changes filters on. Set by every write path in the services.
+    @Column(name = "list_version", nullable = false)
+    private Long listVersion = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
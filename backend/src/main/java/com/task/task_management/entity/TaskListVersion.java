@@ -0,0 +1,29 @@
+package com.task.task_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Only ever changed through bulk statements in TaskListVersionRepository.
+@Entity
+@Table(name = "task_list_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskListVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // Highest list version whose tombstones were purged; see TaskSyncService.
+    @Column(name = "tombstone_horizon", nullable = false)
+    private Long tombstoneHorizon;
+}
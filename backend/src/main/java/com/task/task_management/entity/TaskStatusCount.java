@@ -0,0 +1,43 @@
+package com.task.task_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Only changed through bulk statements in TaskStatusCountRepository; a missing row means zero.
+@Entity
+@Table(name = "task_status_counts")
+@IdClass(TaskStatusCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusCount {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(name = "task_count", nullable = false)
+    private Long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private TaskStatus status;
+    }
+}
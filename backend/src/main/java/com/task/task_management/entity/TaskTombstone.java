@@ -0,0 +1,37 @@
+package com.task.task_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Written by TaskTombstoneRepository.insertForTasks just before the task rows are deleted.
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_user_list_version", columnList = "user_id, list_version"),
+        @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "list_version", nullable = false)
+    private Long listVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
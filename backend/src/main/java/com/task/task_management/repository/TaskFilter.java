@@ -0,0 +1,65 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.TaskStatus;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Filters and sort order of a GET /tasks listing. {@link TaskQueryPlanner} decides
+ * whether an index can serve it.
+ */
+public record TaskFilter(TaskStatus status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                         String titlePrefix, SortField sort, Sort.Direction direction) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, SortField.CREATED_AT, Sort.Direction.DESC);
+
+    public enum SortField {
+        CREATED_AT("createdAt"),
+        TITLE("title");
+
+        private final String value;
+
+        SortField(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    // Request parameters as received; blank values mean "not set". The default order is
+    // newest first for createdAt and A-Z for title.
+    public static TaskFilter of(String status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                String titlePrefix, String sort, String order) {
+        SortField sortField = SortField.CREATED_AT;
+        if (sort != null && !sort.isBlank()) {
+            sortField = switch (sort) {
+                case "createdAt" -> SortField.CREATED_AT;
+                case "title" -> SortField.TITLE;
+                default -> throw new RuntimeException("Sort must be one of: createdAt, title");
+            };
+        }
+        Sort.Direction direction = sortField == SortField.CREATED_AT ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (order != null && !order.isBlank()) {
+            direction = switch (order.toLowerCase(Locale.ROOT)) {
+                case "asc" -> Sort.Direction.ASC;
+                case "desc" -> Sort.Direction.DESC;
+                default -> throw new RuntimeException("Order must be one of: asc, desc");
+            };
+        }
+        return new TaskFilter(
+                status == null || status.isBlank() ? null : TaskStatus.from(status),
+                createdFrom,
+                createdTo,
+                titlePrefix == null || titlePrefix.isBlank() ? null : titlePrefix,
+                sortField,
+                direction);
+    }
+
+    public boolean isDefault() {
+        return equals(NONE);
+    }
+}
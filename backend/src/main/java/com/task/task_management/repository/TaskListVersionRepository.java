@@ -0,0 +1,47 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.TaskListVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TaskListVersionRepository extends JpaRepository<TaskListVersion, Long> {
+
+    // The user's version, for statements that stamp rows with it right after an increment
+    // in the same transaction; needs a :userId parameter.
+    String CURRENT_VERSION = "(select v.version from TaskListVersion v where v.userId = :userId)";
+
+    @Query("select v.version from TaskListVersion v where v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+
+    // Blocks the user's task writes (which all increment this row) until the transaction ends.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from TaskListVersion v where v.userId = :userId")
+    Optional<TaskListVersion> lockByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update TaskListVersion v set v.version = v.version + 1 where v.userId = :userId")
+    int increment(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("insert into TaskListVersion (userId, version, tombstoneHorizon) values (:userId, :version, 0)")
+    int insert(@Param("userId") Long userId, @Param("version") long version);
+
+    // Run before the matching TaskTombstoneRepository.deleteOlderThan, in the same transaction.
+    @Modifying
+    @Query("""
+            update TaskListVersion v
+            set v.tombstoneHorizon = (select max(t.listVersion) from TaskTombstone t
+                                      where t.userId = v.userId and t.deletedAt < :cutoff)
+            where exists (select 1 from TaskTombstone t where t.userId = v.userId and t.deletedAt < :cutoff)
+            """)
+    int raiseTombstoneHorizons(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * A filtered listing that {@link TaskQueryPlanner} accepted: the predicate, and an ORDER BY
+ * over attribute paths that follows the key order of {@code index}.
+ */
+public record TaskQueryPlan(String index, Specification<Task> where, Sort sort) {
+}
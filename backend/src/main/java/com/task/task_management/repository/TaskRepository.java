@@ -1,15 +1,124 @@
 package com.task.task_management.repository;
 
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
 import com.task.task_management.entity.Task;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.entity.TaskStatusCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByUserId(Long userId, Pageable pageable);
-    Optional<Task> findByIdAndUserId(Long id, Long userId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    // Read paths select straight into DTOs: no managed entities, no dirty-check
+    // snapshots, and user_id comes from the column rather than the User proxy.
+    String SELECT_RESPONSE = "select new com.task.task_management.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.createdAt, t.user.id) from Task t ";
+    String SELECT_SUMMARY = "select new com.task.task_management.dto.TaskSummaryResponse("
+            + "t.id, t.title, t.status, t.createdAt, t.user.id) from Task t ";
+    String COUNT = "select count(t) from Task t ";
+    String SELECT_STATUS_COUNT = "select new com.task.task_management.entity.TaskStatusCount("
+            + "t.user.id, t.status, count(t)) from Task t ";
+    String GROUP_BY_STATUS = "group by t.user.id, t.status";
+
+    String BY_USER = "where t.user.id = :userId ";
+    // The redundant "createdAt <=" bound and the leading user.id sort key let the
+    // (user_id, created_at desc, id desc) index serve this as a sorted range scan.
+    String BY_USER_AFTER_CURSOR = "where t.user.id = :userId and t.createdAt <= :createdAt "
+            + "and (t.createdAt < :createdAt or t.id < :id) ";
+    String NEWEST_FIRST = "order by t.user.id, t.createdAt desc, t.id desc";
+
+    // Ownership check and mutation in one statement; a zero row count means the task
+    // does not exist or belongs to someone else. Bulk JPQL bypasses @Version, so the
+    // statements bump it themselves. Run after TaskListVersionService.advance: the row
+    // is stamped with the new list version without reading it back.
+    @Modifying
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, "
+            + "t.listVersion = " + TaskListVersionRepository.CURRENT_VERSION + " "
+            + "where t.id = :id and t.user.id = :userId")
+    int updateStatusByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+                                  @Param("status") TaskStatus status);
+
+    @Modifying
+    @Query("update Task t set t.title = coalesce(:title, t.title), "
+            + "t.description = coalesce(:description, t.description), "
+            + "t.status = coalesce(:status, t.status), "
+            + "t.version = t.version + 1, "
+            + "t.listVersion = " + TaskListVersionRepository.CURRENT_VERSION + " "
+            + "where t.id = :id and t.user.id = :userId")
+    int updateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("title") String title,
+                            @Param("description") String description, @Param("status") TaskStatus status);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select t.version from Task t where t.id = :id and t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select t.status from Task t where t.id = :id and t.user.id = :userId")
+    Optional<TaskStatus> findStatusByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Served from the (user_id, status, ...) index without touching the rows.
+    @Query(SELECT_STATUS_COUNT + BY_USER + GROUP_BY_STATUS)
+    List<TaskStatusCount> countByStatus(@Param("userId") Long userId);
+
+    List<Task> findAllByIdInAndUserId(Collection<Long> ids, Long userId);
+
+    @Query("select t.id from Task t where t.id in :ids and t.user.id = :userId")
+    List<Long> findIdsByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query(SELECT_RESPONSE + "where t.id = :id and t.user.id = :userId")
+    Optional<TaskResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(value = SELECT_RESPONSE + BY_USER, countQuery = COUNT + BY_USER)
+    Page<TaskResponse> findResponsesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SELECT_SUMMARY + BY_USER, countQuery = COUNT + BY_USER)
+    Page<TaskSummaryResponse> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + BY_USER + NEWEST_FIRST)
+    List<TaskResponse> findResponsesByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(SELECT_SUMMARY + BY_USER + NEWEST_FIRST)
+    List<TaskSummaryResponse> findSummariesByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where t.id in :ids and t.user.id = :userId")
+    List<TaskResponse> findResponsesByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Full scan in primary key order for rebuilding the search index.
+    @Query(SELECT_RESPONSE + "where t.id > :id order by t.id")
+    List<TaskResponse> findResponsesAfterId(@Param("id") Long id, Limit limit);
+
+    // Served by the (user_id, list_version) index.
+    @Query(SELECT_RESPONSE + "where t.user.id = :userId and t.listVersion > :since order by t.listVersion, t.id")
+    List<TaskResponse> findResponsesChangedSince(@Param("userId") Long userId, @Param("since") long since, Limit limit);
+
+    @Query(SELECT_RESPONSE + BY_USER_AFTER_CURSOR + NEWEST_FIRST)
+    List<TaskResponse> findResponsesByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query(SELECT_SUMMARY + BY_USER_AFTER_CURSOR + NEWEST_FIRST)
+    List<TaskSummaryResponse> findSummariesByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
 }
@@ -0,0 +1,20 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+// Criteria queries for plans built by TaskQueryPlanner; the plan supplies the sort, the pageable only the page.
+public interface TaskRepositoryCustom {
+
+    Page<TaskResponse> findResponses(TaskQueryPlan plan, Pageable pageable);
+
+    Page<TaskSummaryResponse> findSummaries(TaskQueryPlan plan, Pageable pageable);
+
+    // All of a user's tasks, newest first, read through a forward-only cursor of
+    // fetchSize rows. Must be consumed and closed inside a transaction.
+    Stream<TaskResponse> streamResponsesByUserId(Long userId, int fetchSize);
+}
@@ -0,0 +1,83 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
+import com.task.task_management.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskResponse> findResponses(TaskQueryPlan plan, Pageable pageable) {
+        return find(plan, pageable, TaskResponse.class,
+                "id", "title", "description", "status", "createdAt", "user.id");
+    }
+
+    @Override
+    public Page<TaskSummaryResponse> findSummaries(TaskQueryPlan plan, Pageable pageable) {
+        return find(plan, pageable, TaskSummaryResponse.class,
+                "id", "title", "status", "createdAt", "user.id");
+    }
+
+    // DTO rows are never attached to the persistence context, so it stays empty however
+    // many rows pass through.
+    @Override
+    public Stream<TaskResponse> streamResponsesByUserId(Long userId, int fetchSize) {
+        return entityManager.createQuery(TaskRepository.SELECT_RESPONSE + TaskRepository.BY_USER
+                        + TaskRepository.NEWEST_FIRST, TaskResponse.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Selects straight into the DTO, like the JPQL read queries in TaskRepository.
+    private <T> Page<T> find(TaskQueryPlan plan, Pageable pageable, Class<T> type, String... columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(type, Arrays.stream(columns).map(column -> path(task, column)).toArray(Selection[]::new)))
+                .where(plan.where().toPredicate(task, query, cb))
+                .orderBy(plan.sort().stream()
+                        .map(order -> order.isAscending() ? cb.asc(path(task, order.getProperty()))
+                                : cb.desc(path(task, order.getProperty())))
+                        .toList());
+
+        List<T> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        // The count is skipped when the page shows the total already (first page not full, etc.).
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(plan));
+    }
+
+    private long count(TaskQueryPlan plan) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.count(task)).where(plan.where().toPredicate(task, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // "user.id" reads the foreign key column; it does not join users.
+    private static Path<?> path(Root<Task> task, String attribute) {
+        Path<?> path = task;
+        for (String name : attribute.split("\\.")) {
+            path = path.get(name);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,36 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.Task;
+import com.task.task_management.entity.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// Predicates for the filtered task listing; combined by TaskQueryPlanner.
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> ownedBy(Long userId) {
+        return (task, query, cb) -> cb.equal(task.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (task, query, cb) -> cb.equal(task.get("status"), status);
+    }
+
+    public static Specification<Task> createdFrom(LocalDateTime from) {
+        return (task, query, cb) -> cb.greaterThanOrEqualTo(task.get("createdAt"), from);
+    }
+
+    public static Specification<Task> createdBefore(LocalDateTime to) {
+        return (task, query, cb) -> cb.lessThan(task.get("createdAt"), to);
+    }
+
+    // LIKE 'prefix%' with the wildcards in the prefix escaped, so it stays an index range scan.
+    public static Specification<Task> titleStartsWith(String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (task, query, cb) -> cb.like(task.get("title"), pattern, '\\');
+    }
+}
@@ -0,0 +1,85 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.entity.TaskStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskStatusCountRepository extends JpaRepository<TaskStatusCount, TaskStatusCount.Key> {
+
+    String STATUS = "com.task.task_management.entity.TaskStatus.";
+
+    // At most one row per status, read through the primary key.
+    List<TaskStatusCount> findAllByUserId(Long userId);
+
+    @Modifying
+    @Query("""
+            update TaskStatusCount c set c.taskCount = c.taskCount + :delta
+            where c.userId = :userId and c.status = :status
+            """)
+    int add(@Param("userId") Long userId, @Param("status") TaskStatus status, @Param("delta") long delta);
+
+    // One statement for a batch's deltas; :statuses limits it to the rows that change.
+    @Modifying
+    @Query("update TaskStatusCount c set c.taskCount = c.taskCount + case c.status"
+            + " when " + STATUS + "PENDING then :pending"
+            + " when " + STATUS + "IN_PROGRESS then :inProgress"
+            + " when " + STATUS + "DONE then :done else 0 end"
+            + " where c.userId = :userId and c.status in :statuses")
+    int addAll(@Param("userId") Long userId, @Param("statuses") Collection<TaskStatus> statuses,
+               @Param("pending") long pending, @Param("inProgress") long inProgress, @Param("done") long done);
+
+    // Moves one task from its current status to :status; run before the task is updated.
+    // Matches no rows when the task is missing or already has that status.
+    @Modifying
+    @Query("""
+            update TaskStatusCount c
+            set c.taskCount = c.taskCount + case when c.status = :status then 1 else -1 end
+            where c.userId = :userId
+              and (c.status = :status
+                   or c.status = (select t.status from Task t where t.id = :taskId and t.user.id = :userId))
+              and exists (select 1 from Task t where t.id = :taskId and t.user.id = :userId and t.status <> :status)
+            """)
+    int moveTask(@Param("userId") Long userId, @Param("taskId") Long taskId, @Param("status") TaskStatus status);
+
+    // Run before the task is deleted.
+    @Modifying
+    @Query("""
+            update TaskStatusCount c set c.taskCount = c.taskCount - 1
+            where c.userId = :userId
+              and c.status = (select t.status from Task t where t.id = :taskId and t.user.id = :userId)
+            """)
+    int removeTask(@Param("userId") Long userId, @Param("taskId") Long taskId);
+
+    // Takes the user's tasks among :ids off their statuses' counts; run before they are deleted.
+    @Modifying
+    @Query("""
+            update TaskStatusCount c
+            set c.taskCount = c.taskCount
+                - (select count(t) from Task t where t.id in :ids and t.user.id = :userId and t.status = c.status)
+            where c.userId = :userId
+              and exists (select 1 from Task t where t.id in :ids and t.user.id = :userId and t.status = c.status)
+            """)
+    int removeTasks(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update TaskStatusCount c set c.taskCount = :count where c.userId = :userId and c.status = :status")
+    int set(@Param("userId") Long userId, @Param("status") TaskStatus status, @Param("count") long count);
+
+    @Modifying
+    @Query("insert into TaskStatusCount (userId, status, taskCount) values (:userId, :status, :count)")
+    int insert(@Param("userId") Long userId, @Param("status") TaskStatus status, @Param("count") long count);
+
+    @Modifying
+    @Query("insert into TaskStatusCount (userId, status, taskCount) values "
+            + "(:userId, " + STATUS + "PENDING, 0), (:userId, " + STATUS + "IN_PROGRESS, 0), "
+            + "(:userId, " + STATUS + "DONE, 0)")
+    int insertZeros(@Param("userId") Long userId);
+}
@@ -0,0 +1,36 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Copies the owned rows about to be deleted, so ids that are not the user's get no tombstone.
+    // Run after TaskListVersionService.advance: tombstones take the user's new list version.
+    @Modifying
+    @Query("""
+            insert into TaskTombstone (taskId, userId, listVersion, deletedAt)
+            select t.id, t.user.id, v.version, :deletedAt from Task t, TaskListVersion v
+            where t.id in :ids and t.user.id = :userId and v.userId = :userId
+            """)
+    int insertForTasks(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                       @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("select t.taskId from TaskTombstone t where t.userId = :userId and t.listVersion > :since "
+            + "order by t.listVersion, t.taskId")
+    List<Long> findTaskIdsDeletedSince(@Param("userId") Long userId, @Param("since") long since, Limit limit);
+
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
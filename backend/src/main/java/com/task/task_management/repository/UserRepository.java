@@ -3,15 +3,22 @@ package com.task.task_management.repository;
 
 import com.task.task_management.entity.Task;
 import com.task.task_management.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    @Query("select u.id from User u where u.id > :id order by u.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Limit limit);
 }
\ No newline at end of file
@@ -1,72 +1,114 @@
 package com.task.task_management.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String JWT_SECRET;
-
-    @Value("${jwt.expiration:1209600000}")
-    private Long JWT_EXPIRATION;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(JWT_SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    private static final String USER_ID_CLAIM = "uid";
+
+    private final SecretKey signingKey;
+    private final Long jwtExpiration;
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil(
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.expiration:1209600000}") Long jwtExpiration,
+            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
     }
 
-
-
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION);
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .subject(username)
+                .claim(USER_ID_CLAIM, userId)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey)
                 .compact();
     }
 
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public Claims parseToken(String token) {
+        String cacheKey = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(cacheKey);
+        if (claims == null) {
+            claims = verify(token);
+            verifiedTokens.put(cacheKey, claims);
+        }
+        return claims;
     }
 
-
-
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    public Long extractUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
     }
 
-
-    public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        return resolver.apply(extractAllClaims(token));
+    public Cache<String, Claims> getVerifiedTokens() {
+        return verifiedTokens;
     }
 
-    private Claims extractAllClaims(String token) {
+    private Claims verify(String token) {
         return Jwts.parser()
-                .setSigningKey(getSigningKey())
+                .verifyWith(signingKey)
                 .build()
-                .parseClaimsJws(token)
-                .getBody();
+                .parseSignedClaims(token)
+                .getPayload();
     }
-}
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
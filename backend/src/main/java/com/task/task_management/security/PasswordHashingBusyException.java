@@ -0,0 +1,9 @@
+package com.task.task_management.security;
+
+// Thrown when the password hashing queue is full; mapped to 429 Too Many Requests.
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many password checks in progress, please retry shortly");
+    }
+}
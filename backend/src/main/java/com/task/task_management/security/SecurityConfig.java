@@ -1,14 +1,23 @@
 package com.task.task_management.security;
 
 import com.task.task_management.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -16,6 +25,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
 
 @Configuration
@@ -32,8 +43,49 @@ public class SecurityConfig {
         this.userDetailsService = userDetailsService;
     }
 
+    // Actuator endpoints take HTTP Basic with the actuator account only (the Prometheus
+    // scraper's credentials); customer bearer tokens are not accepted here. Health stays
+    // open for liveness probes and shows no details. A blank password locks the rest.
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${security.actuator.username:actuator}") String username,
+            @Value("${security.actuator.password:}") String password
+    ) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("ACTUATOR")
+                )
+                .httpBasic(basic -> {})
+                .authenticationManager(actuatorAuthenticationManager(username, password));
+
+        return http.build();
+    }
+
+    // Compared in constant time rather than with BCrypt, so scrapes don't queue behind logins.
+    private static AuthenticationManager actuatorAuthenticationManager(String username, String password) {
+        byte[] expected = password.getBytes(StandardCharsets.UTF_8);
+        return authentication -> {
+            byte[] given = String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8);
+            if (expected.length == 0
+                    || !username.equals(authentication.getName())
+                    || !MessageDigest.isEqual(expected, given)) {
+                throw new BadCredentialsException("Bad actuator credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    username, null, AuthorityUtils.createAuthorityList("ROLE_ACTUATOR"));
+        };
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -42,33 +94,43 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**").permitAll()
+                        // Completing a stream re-dispatches the request; the JWT was checked on the original dispatch.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 ).addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
-                .authenticationManager(authenticationManager(http));;
+                .authenticationManager(authenticationManager(http, passwordEncoder));
 
         return http.build();
     }
 
+    // BCrypt runs on its own bounded pool; see BoundedPasswordEncoder.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.bcrypt.strength:10}") int strength,
+            @Value("${security.password-hashing.threads:2}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, meterRegistry);
     }
+
+    // Hashes stored with a lower cost are re-encoded on the next successful login
+    // through the UserDetailsPasswordService hook.
     @Bean
-    AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
+    AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         var authBuilder = http.getSharedObject(AuthenticationManagerBuilder.class);
         authBuilder.userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder());
+                .passwordEncoder(passwordEncoder)
+                .userDetailsPasswordManager(userDetailsService);
 
         return authBuilder.build();
-
-
     }
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true);
 
@@ -0,0 +1,36 @@
+package com.task.task_management.security;
+
+import com.task.task_management.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Instances are cached and shared between requests, so this deliberately does not
+// implement CredentialsContainer: erasing credentials after login would wipe the cached hash.
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String password;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getName(), user.getEmail(), user.getPassword());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+}
@@ -0,0 +1,210 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.BatchItemResult;
+import com.task.task_management.dto.BatchResponse;
+import com.task.task_management.dto.TaskBatchUpdateRequest;
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.entity.Task;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.TaskTombstoneRepository;
+import com.task.task_management.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/update/delete. Each call is one transaction; items that fail validation or
+ * ownership checks are reported individually and the rest are written with JDBC batching.
+ */
+@Service
+public class TaskBatchService {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListVersionService taskListVersionService;
+    private final TaskStatsService taskStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public TaskBatchService(TaskRepository taskRepository,
+                            UserRepository userRepository,
+                            TaskTombstoneRepository taskTombstoneRepository,
+                            TaskListVersionService taskListVersionService,
+                            TaskStatsService taskStatsService,
+                            ApplicationEventPublisher eventPublisher,
+                            Validator validator,
+                            @Value("${tasks.batch.max-size:1000}") int maxBatchSize) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskListVersionService = taskListVersionService;
+        this.taskStatsService = taskStatsService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Transactional
+    public BatchResponse createTasks(List<TaskRequest> requests, Long userId) {
+        checkBatchSize(requests);
+        User user = userRepository.getReferenceById(userId);
+        ListVersion listVersion = new ListVersion(userId);
+        Map<TaskStatus, Long> created = new EnumMap<>(TaskStatus.class);
+
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(BatchItemResult.failure(i, null, error));
+                continue;
+            }
+
+            Task task = new Task();
+            task.setTitle(request.getTitle());
+            task.setDescription(request.getDescription());
+            task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING);
+            task.setUser(user);
+            task.setListVersion(listVersion.get());
+            // The pooled generator assigns the id here; the INSERT is batched at flush.
+            TaskResponse response = TaskResponse.from(taskRepository.save(task));
+            created.merge(task.getStatus(), 1L, Long::sum);
+            results.add(BatchItemResult.success(i, response.getId()));
+            eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.CREATED, response.getId(), response));
+        }
+        taskStatsService.add(userId, created);
+        return BatchResponse.of(results);
+    }
+
+    @Transactional
+    public BatchResponse updateTasks(List<TaskBatchUpdateRequest> requests, Long userId) {
+        checkBatchSize(requests);
+        List<Long> ids = requests.stream()
+                .filter(Objects::nonNull)
+                .map(TaskBatchUpdateRequest::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, Task> tasks = taskRepository.findAllByIdInAndUserId(ids, userId).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        ListVersion listVersion = new ListVersion(userId);
+        // The statuses loaded above are current: the flush fails on @Version if a task
+        // changed in between, which also rolls these adjustments back.
+        Map<TaskStatus, Long> moved = new EnumMap<>(TaskStatus.class);
+
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TaskBatchUpdateRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(BatchItemResult.failure(i, request != null ? request.getId() : null, error));
+                continue;
+            }
+
+            Task task = tasks.get(request.getId());
+            if (task == null) {
+                results.add(BatchItemResult.failure(i, request.getId(), "Task not found"));
+                continue;
+            }
+            if (request.getTitle() != null) {
+                task.setTitle(request.getTitle());
+            }
+            if (request.getDescription() != null) {
+                task.setDescription(request.getDescription());
+            }
+            if (request.getStatus() != null && request.getStatus() != task.getStatus()) {
+                moved.merge(task.getStatus(), -1L, Long::sum);
+                moved.merge(request.getStatus(), 1L, Long::sum);
+                task.setStatus(request.getStatus());
+            }
+            task.setListVersion(listVersion.get());
+            results.add(BatchItemResult.success(i, task.getId()));
+            eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.UPDATED, task.getId(),
+                    TaskResponse.from(task)));
+        }
+        taskStatsService.add(userId, moved);
+        // Dirty checking flushes the changed rows as batched UPDATEs on commit.
+        return BatchResponse.of(results);
+    }
+
+    @Transactional
+    public BatchResponse deleteTasks(List<Long> ids, Long userId) {
+        checkBatchSize(ids);
+        Set<Long> owned = new HashSet<>(taskRepository.findIdsByIdInAndUserId(
+                ids.stream().filter(Objects::nonNull).toList(), userId));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        List<Long> toDelete = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.failure(i, null, "Id is required"));
+            } else if (owned.remove(id)) {
+                toDelete.add(id);
+                results.add(BatchItemResult.success(i, id));
+                eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.DELETED, id,
+                        Map.of("id", id)));
+            } else {
+                results.add(BatchItemResult.failure(i, id, "Task not found"));
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            taskListVersionService.advance(userId);
+            taskStatsService.removeTasks(userId, toDelete);
+            taskTombstoneRepository.insertForTasks(toDelete, userId, LocalDateTime.now());
+            taskRepository.deleteAllByIdInBatch(toDelete);
+        }
+        return BatchResponse.of(results);
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > maxBatchSize) {
+            throw new RuntimeException("Batch must contain between 1 and " + maxBatchSize + " items");
+        }
+    }
+
+    private String validate(Object item) {
+        if (item == null) {
+            return "Item is required";
+        }
+        Set<? extends ConstraintViolation<?>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // One list version bump per batch, taken on the first successful item (none if
+    // every item fails) and stamped on every row the batch writes.
+    private final class ListVersion {
+
+        private final Long userId;
+        private Long value;
+
+        ListVersion(Long userId) {
+            this.userId = userId;
+        }
+
+        long get() {
+            if (value == null) {
+                value = taskListVersionService.increment(userId);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.task.task_management.service;
+
+/**
+ * Published by TaskService and TaskBatchService inside the writing transaction;
+ * listeners that act on committed data use {@code @TransactionalEventListener}.
+ * The payload is what the client would see for the change: the task for creates and
+ * updates, {@code {id, status}} for status changes and {@code {id}} for deletes.
+ */
+public record TaskChangedEvent(Long userId, Type type, Long taskId, Object payload) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,102 @@
+package com.task.task_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * {@code GET /tasks/export}: every task of a user written to the response as it is read
+ * from a database cursor. Memory use is one fetch of rows plus the output buffer, whatever
+ * the task count; the response is flushed to the client as the buffer fills.
+ */
+@Service
+public class TaskExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,title,description,status,createdAt";
+
+    private final TaskRepository taskRepository;
+    private final ObjectWriter jsonWriter;
+    private final int fetchSize;
+
+    public TaskExportService(TaskRepository taskRepository, ObjectMapper objectMapper,
+                             @Value("${tasks.export.fetch-size:1000}") int fetchSize) {
+        this.taskRepository = taskRepository;
+        // Flushing is left to the buffer, not done after every row.
+        this.jsonWriter = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    // Runs on the async request thread once the controller has returned; the transaction
+    // only keeps the cursor open and is read-only, so nothing is flushed or dirty-checked.
+    @Transactional(readOnly = true)
+    public void export(Long userId, TaskFileFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponsesByUserId(userId, fetchSize)) {
+            if (format == TaskFileFormat.CSV) {
+                writeCsv(tasks.iterator(), writer);
+            } else {
+                writeNdjson(tasks.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<TaskResponse> tasks, Writer writer) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (tasks.hasNext()) {
+            jsonWriter.writeValue(generator, tasks.next());
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static void writeCsv(Iterator<TaskResponse> tasks, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (tasks.hasNext()) {
+            TaskResponse task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writeCsvField(writer, task.getTitle());
+            writer.write(',');
+            writeCsvField(writer, task.getDescription());
+            writer.write(',');
+            writer.write(task.getStatus());
+            writer.write(',');
+            writer.write(task.getCreatedAt() != null ? task.getCreatedAt().toString() : "");
+            writer.write("\r\n");
+        }
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break; double inner quotes.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
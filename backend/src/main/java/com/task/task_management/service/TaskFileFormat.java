@@ -0,0 +1,43 @@
+package com.task.task_management.service;
+
+import org.springframework.http.MediaType;
+
+// File formats of GET /tasks/export and POST /tasks/import.
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final MediaType contentType;
+    private final String extension;
+
+    TaskFileFormat(String contentType, String extension) {
+        this.contentType = MediaType.parseMediaType(contentType);
+        this.extension = extension;
+    }
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TaskFileFormat from(String value) {
+        for (TaskFileFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unknown format: " + value + ". Valid values are: ndjson, csv");
+    }
+
+    public static TaskFileFormat from(MediaType contentType) {
+        for (TaskFileFormat format : values()) {
+            if (format.contentType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Content type must be one of: application/x-ndjson, text/csv");
+    }
+}
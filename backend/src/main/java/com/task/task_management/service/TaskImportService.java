@@ -0,0 +1,137 @@
+package com.task.task_management.service;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.task.task_management.dto.BatchItemResult;
+import com.task.task_management.dto.TaskImportError;
+import com.task.task_management.dto.TaskImportResponse;
+import com.task.task_management.dto.TaskRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code POST /tasks/import}: NDJSON or CSV (with a header row) parsed one row at a time
+ * and written through {@link TaskBatchService#createTasks} in chunks of
+ * {@code tasks.import.chunk-size}. Each chunk is its own transaction, so memory holds one
+ * chunk whatever the file size, and a failure part way keeps the chunks before it.
+ * Files produced by {@code GET /tasks/export} import as they are; columns and fields
+ * other than title, description and status are ignored.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int PROGRESS_LOG_INTERVAL = 100_000;
+
+    private final TaskBatchService taskBatchService;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int chunkSize;
+
+    // The chunk size must not exceed tasks.batch.max-size.
+    public TaskImportService(TaskBatchService taskBatchService, ObjectMapper objectMapper,
+                             @Value("${tasks.import.chunk-size:500}") int chunkSize) {
+        this.taskBatchService = taskBatchService;
+        this.ndjsonReader = objectMapper.readerFor(TaskRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(TaskRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.chunkSize = chunkSize;
+    }
+
+    public TaskImportResponse importTasks(Long userId, TaskFileFormat format, InputStream in) throws IOException {
+        Report report = new Report();
+        List<TaskRequest> chunk = new ArrayList<>(chunkSize);
+        List<Long> lines = new ArrayList<>(chunkSize);
+        ObjectReader reader = format == TaskFileFormat.CSV ? csvReader : ndjsonReader;
+
+        try (MappingIterator<TaskRequest> rows = reader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                long line = rows.getParser().currentTokenLocation().getLineNr();
+                try {
+                    chunk.add(rows.nextValue());
+                    lines.add(line);
+                } catch (DatabindException e) {
+                    // The iterator skips the rest of the bad row on the next hasNextValue().
+                    report.reject(line, message(e));
+                }
+                if (chunk.size() == chunkSize) {
+                    write(userId, chunk, lines, report);
+                }
+            }
+        } catch (StreamReadException e) {
+            // Broken syntax leaves no reliable row boundary to resume from.
+            report.reject(e.getLocation() != null ? e.getLocation().getLineNr() : -1,
+                    "Malformed input: " + e.getOriginalMessage());
+            report.complete = false;
+        }
+        write(userId, chunk, lines, report);
+
+        log.info("Imported {} tasks for user {} ({} rejected)", report.imported, userId, report.failed);
+        return new TaskImportResponse(report.imported, report.failed, report.errors, report.complete);
+    }
+
+    private void write(Long userId, List<TaskRequest> chunk, List<Long> lines, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        long before = report.imported;
+        for (BatchItemResult result : taskBatchService.createTasks(chunk, userId).getResults()) {
+            if (result.isSuccess()) {
+                report.imported++;
+            } else {
+                report.reject(lines.get(result.getIndex()), result.getError());
+            }
+        }
+        if (report.imported / PROGRESS_LOG_INTERVAL > before / PROGRESS_LOG_INTERVAL) {
+            log.info("Import for user {}: {} tasks so far", userId, report.imported);
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    // Prefers the message of the value's own check, e.g. TaskStatus.from.
+    private static String message(DatabindException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException) {
+                return cause.getMessage();
+            }
+        }
+        return e.getOriginalMessage();
+    }
+
+    private static final class Report {
+
+        private long imported;
+        private long failed;
+        private boolean complete = true;
+        private final List<TaskImportError> errors = new ArrayList<>();
+
+        void reject(long line, String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TaskImportError(line, error));
+            }
+        }
+    }
+}
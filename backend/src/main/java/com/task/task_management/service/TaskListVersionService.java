@@ -0,0 +1,49 @@
+package com.task.task_management.service;
+
+import com.task.task_management.repository.TaskListVersionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-user task list version: a monotonic counter incremented in the same transaction
+ * as every task create, update and delete. The row lock taken by the increment also
+ * orders concurrent writes of one user, so versions are never reused and commit in
+ * order, which is what lets GET /tasks/changes use them as a watermark.
+ */
+@Service
+public class TaskListVersionService {
+
+    private final TaskListVersionRepository taskListVersionRepository;
+
+    public TaskListVersionService(TaskListVersionRepository taskListVersionRepository) {
+        this.taskListVersionRepository = taskListVersionRepository;
+    }
+
+    public long current(Long userId) {
+        return taskListVersionRepository.findVersionByUserId(userId).orElse(0L);
+    }
+
+    @Transactional
+    public void initialize(Long userId) {
+        taskListVersionRepository.insert(userId, 0L);
+    }
+
+    // Call before writing the task rows: the returned version is stamped on them.
+    @Transactional
+    public long increment(Long userId) {
+        return advance(userId) ? current(userId) : 1L;
+    }
+
+    // Increments without reading the version back, for writes whose statements stamp it
+    // themselves (TaskListVersionRepository.CURRENT_VERSION). Returns false if the row had
+    // to be created.
+    @Transactional
+    public boolean advance(Long userId) {
+        // Rows come from registration or the V4 migration; this covers users created any other way.
+        if (taskListVersionRepository.increment(userId) == 0) {
+            taskListVersionRepository.insert(userId, 1L);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,305 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.CursorPage;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@code GET /tasks/search}: relevance-ranked, prefix-matching search over task titles and
+ * descriptions, backed by an embedded Lucene index in {@code tasks.search.index-dir}.
+ *
+ * <p>The index is updated from committed {@link TaskChangedEvent}s and only holds ids and
+ * terms; hits are loaded from the database, so a document that is briefly stale never
+ * returns data the user no longer owns. Like the event stream, each instance only sees its
+ * own writes: run one instance per index directory and rebuild it from the database after
+ * restoring or moving it ({@code tasks.search.rebuild=true}). An empty index is rebuilt
+ * automatically at startup.
+ *
+ * <p>Scores depend on index-wide term statistics, which any user's write changes, so a
+ * cursor pins the searcher its first page came from ({@link SearcherLifetimeManager}) and
+ * later pages rank against the same snapshot. A snapshot is released once a newer one has
+ * replaced it for {@code tasks.search.cursor-ttl}; its cursors are then rejected.
+ */
+@Service
+public class TaskSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchService.class);
+
+    private static final String ID = "id";
+    private static final String SORT_ID = "sort_id";
+    private static final String USER_ID = "user_id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+
+    private static final int MAX_TERMS = 16;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // The id sort both breaks ties and hands back each hit's task id without stored fields.
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE,
+            new SortField(SORT_ID, SortField.Type.LONG, true));
+
+    private final TaskRepository taskRepository;
+    private final boolean rebuildOnStartup;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final SearcherLifetimeManager pinnedSearchers = new SearcherLifetimeManager();
+    private final Duration cursorTtl;
+
+    public TaskSearchService(TaskRepository taskRepository,
+                             @Value("${tasks.search.index-dir:}") String indexDir,
+                             @Value("${tasks.search.rebuild:false}") boolean rebuildOnStartup,
+                             @Value("${tasks.search.cursor-ttl:5m}") Duration cursorTtl) throws IOException {
+        this.taskRepository = taskRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.cursorTtl = cursorTtl;
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public CursorPage<TaskResponse> search(Long userId, String q, String cursor, int size) {
+        TaskService.checkPageSize(size);
+        Query query = buildQuery(userId, q);
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+
+        // One extra hit tells us whether another page exists.
+        ScoreDoc[] hits;
+        long searcherVersion;
+        try {
+            IndexSearcher searcher;
+            if (after == null) {
+                // Cheap when nothing changed; otherwise makes writes committed so far visible.
+                searcherManager.maybeRefresh();
+                searcher = searcherManager.acquire();
+                try {
+                    searcherVersion = pinnedSearchers.record(searcher);
+                } finally {
+                    searcherManager.release(searcher);
+                }
+                searcher = pinnedSearchers.acquire(searcherVersion);
+            } else {
+                searcherVersion = after.searcherVersion();
+                searcher = pinnedSearchers.acquire(searcherVersion);
+            }
+            // Only a pruned snapshot is missing; a fresh one was recorded just above.
+            if (searcher == null) {
+                throw new RuntimeException("Search cursor expired; search again");
+            }
+            try {
+                FieldDoc afterDoc = after != null ? after.toFieldDoc() : null;
+                hits = searcher.searchAfter(afterDoc, query, size + 1, RELEVANCE, true).scoreDocs;
+            } finally {
+                pinnedSearchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        boolean hasNext = hits.length > size;
+        List<FieldDoc> page = Arrays.stream(hits, 0, Math.min(hits.length, size)).map(FieldDoc.class::cast).toList();
+        List<Long> ids = page.stream().map(TaskSearchService::taskId).toList();
+        Map<Long, TaskResponse> tasks = ids.isEmpty() ? Map.of()
+                : taskRepository.findResponsesByIdInAndUserId(ids, userId).stream()
+                        .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        // Hits whose row is gone (deleted since the last refresh) are dropped.
+        List<TaskResponse> content = ids.stream().map(tasks::get).filter(Objects::nonNull).toList();
+        String nextCursor = hasNext ? SearchCursor.of(searcherVersion, page.get(page.size() - 1)).encode() : null;
+
+        return new CursorPage<>(content, nextCursor, hasNext, size);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent change) {
+        try {
+            if (change.type() == TaskChangedEvent.Type.DELETED) {
+                writer.deleteDocuments(idTerm(change.taskId()));
+            } else if (change.payload() instanceof TaskResponse task) {
+                index(task);
+            }
+            // Status-only updates carry no text, so the document stays as it is.
+        } catch (IOException e) {
+            // The write itself has committed; the index catches up on the next rebuild.
+            log.warn("Could not update search index for task {}", change.taskId(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() throws IOException {
+        if (rebuildOnStartup || writer.getDocStats().numDocs == 0) {
+            long indexed = rebuild();
+            log.info("Rebuilt task search index from the database ({} tasks)", indexed);
+        }
+    }
+
+    // Searches during a rebuild see a partial index. Writes made meanwhile are not lost:
+    // their events update the new index like any other.
+    public long rebuild() throws IOException {
+        writer.deleteAll();
+        long indexed = 0;
+        Long lastId = 0L;
+        List<TaskResponse> batch;
+        do {
+            batch = taskRepository.findResponsesAfterId(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            for (TaskResponse task : batch) {
+                index(task);
+                lastId = task.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        writer.commit();
+        searcherManager.maybeRefresh();
+        return indexed;
+    }
+
+    // Searches read uncommitted changes through the near-real-time reader; commits only
+    // bound what a crash loses (a crash can leave the index behind; rebuild it then).
+    @Scheduled(fixedDelayString = "${tasks.search.commit-interval-ms:10000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    // Releases snapshots that cursors may no longer use.
+    @Scheduled(fixedDelayString = "${tasks.search.commit-interval-ms:10000}")
+    public void prunePinnedSearchers() throws IOException {
+        pinnedSearchers.prune(new SearcherLifetimeManager.PruneByAge(cursorTtl.toSeconds()));
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        pinnedSearchers.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void index(TaskResponse task) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(task.getId()), Field.Store.NO));
+        document.add(new NumericDocValuesField(SORT_ID, task.getId()));
+        document.add(new LongPoint(USER_ID, task.getUserId()));
+        document.add(new TextField(TITLE, task.getTitle(), Field.Store.NO));
+        if (task.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, task.getDescription(), Field.Store.NO));
+        }
+        writer.updateDocument(idTerm(task.getId()), document);
+    }
+
+    // Every word must match the title or the description, either exactly or as a prefix;
+    // exact and title matches rank higher.
+    private Query buildQuery(Long userId, String q) {
+        List<String> words = analyze(q);
+        if (words.isEmpty()) {
+            throw new RuntimeException("Search query must contain at least one word");
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(LongPoint.newExactQuery(USER_ID, userId), BooleanClause.Occur.FILTER);
+        for (String word : words) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, word)), 4f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, word)), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(TITLE, word)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(DESCRIPTION, word)), 0.5f), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (words.size() < MAX_TERMS && tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static Term idTerm(Long taskId) {
+        return new Term(ID, String.valueOf(taskId));
+    }
+
+    private static Long taskId(FieldDoc hit) {
+        return (Long) hit.fields[1];
+    }
+
+    // Scores and doc numbers are only meaningful in the pinned searcher they came from.
+    private record SearchCursor(long searcherVersion, float score, int doc, long id) {
+
+        private static final String SEPARATOR = "|";
+
+        static SearchCursor of(long searcherVersion, FieldDoc hit) {
+            return new SearchCursor(searcherVersion, (Float) hit.fields[0], hit.doc, taskId(hit));
+        }
+
+        FieldDoc toFieldDoc() {
+            return new FieldDoc(doc, score, new Object[]{score, id});
+        }
+
+        String encode() {
+            String raw = searcherVersion + SEPARATOR + score + SEPARATOR + doc + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split(Pattern.quote(SEPARATOR));
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException();
+                }
+                return new SearchCursor(Long.parseLong(parts[0]), Float.parseFloat(parts[1]),
+                        Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+}
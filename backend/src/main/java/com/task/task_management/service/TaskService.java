@@ -1,96 +1,269 @@
 package com.task.task_management.service;
 
 
+import com.task.task_management.dto.CursorPage;
+import com.task.task_management.dto.TaskOperationResponse;
 import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.dto.TaskStatsResponse;
 import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
 import com.task.task_management.dto.TaskUpdateRequest;
 import com.task.task_management.entity.Task;
 import com.task.task_management.entity.TaskStatus;
-import com.task.task_management.entity.User;
+import com.task.task_management.repository.TaskFilter;
+import com.task.task_management.repository.TaskQueryPlanner;
 import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.TaskTombstoneRepository;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskWriteBehindService.PendingChanges;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// Every public method is timed, tagged with its name (see management.observations.annotations).
+// Read-only methods run on a replica when replicas are configured (see ReplicaDataSourceConfig).
+@Timed(value = "tasks.service", histogram = true)
 @Service
 public class TaskService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    static final int MAX_PAGE_SIZE = 100;
+
     private final TaskRepository taskRepository;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final UserRepository userRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListVersionService taskListVersionService;
+    private final TaskStatsService taskStatsService;
+    private final TaskWriteBehindService taskWriteBehindService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, UserDetailsServiceImpl userDetailsService) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
+                       TaskTombstoneRepository taskTombstoneRepository,
+                       TaskListVersionService taskListVersionService, TaskStatsService taskStatsService,
+                       TaskWriteBehindService taskWriteBehindService, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
-        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskListVersionService = taskListVersionService;
+        this.taskStatsService = taskStatsService;
+        this.taskWriteBehindService = taskWriteBehindService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public TaskResponse createTask(TaskRequest request, String userEmail) {
-        User user = userDetailsService.getUserByEmail(userEmail);
-
+    @Transactional
+    public TaskResponse createTask(TaskRequest request, Long userId) {
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING);
-        task.setUser(user);
+        task.setUser(userRepository.getReferenceById(userId));
+        task.setListVersion(taskListVersionService.increment(userId));
 
-        Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
+        TaskResponse response = TaskResponse.from(taskRepository.save(task));
+        taskStatsService.add(userId, task.getStatus(), 1);
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.CREATED, response.getId(), response));
+        return response;
     }
 
-    public Page<TaskResponse> getUserTasks(String userEmail, int page, int size) {
-        User user = userDetailsService.getUserByEmail(userEmail);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getUserTasks(Long userId, int page, int size) {
+        size = clampPageSize(size);
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return taskRepository.findResponsesByUserId(userId, PageRequest.of(page, size, NEWEST_FIRST))
+                .map(pending::overlay);
+    }
 
-        return taskRepository.findByUserId(user.getId(), pageable)
-                .map(this::mapToResponse);
+    @Transactional(readOnly = true)
+    public Page<TaskSummaryResponse> getUserTaskSummaries(Long userId, int page, int size) {
+        size = clampPageSize(size);
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return taskRepository.findSummariesByUserId(userId, PageRequest.of(page, size, NEWEST_FIRST))
+                .map(pending::overlay);
     }
 
-    public TaskResponse getTaskById(Long taskId, String userEmail) {
-        User user = userDetailsService.getUserByEmail(userEmail);
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    // Filtered or re-sorted listings; TaskQueryPlanner rejects the ones no index serves.
+    // Pending write-behind statuses are shown, but the status filter matches stored ones.
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getUserTasks(Long userId, TaskFilter filter, int page, int size) {
+        size = clampPageSize(size);
+        if (filter.isDefault()) {
+            return getUserTasks(userId, page, size);
+        }
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return taskRepository.findResponses(TaskQueryPlanner.plan(userId, filter), PageRequest.of(page, size))
+                .map(pending::overlay);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TaskSummaryResponse> getUserTaskSummaries(Long userId, TaskFilter filter, int page, int size) {
+        size = clampPageSize(size);
+        if (filter.isDefault()) {
+            return getUserTaskSummaries(userId, page, size);
+        }
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return taskRepository.findSummaries(TaskQueryPlanner.plan(userId, filter), PageRequest.of(page, size))
+                .map(pending::overlay);
+    }
 
-        return mapToResponse(task);
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getUserTasksAfter(Long userId, String cursor, int size) {
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return keysetPage(cursor, size,
+                limit -> taskRepository.findResponsesByUserId(userId, limit),
+                (after, limit) -> taskRepository.findResponsesByUserIdAfter(userId, after.createdAt(), after.id(), limit),
+                last -> new TaskCursor(last.getCreatedAt(), last.getId()),
+                pending::overlay);
     }
 
-    public TaskResponse updateTask(Long taskId, TaskUpdateRequest request, String userEmail) {
-        User user = userDetailsService.getUserByEmail(userEmail);
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId())
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummaryResponse> getUserTaskSummariesAfter(Long userId, String cursor, int size) {
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return keysetPage(cursor, size,
+                limit -> taskRepository.findSummariesByUserId(userId, limit),
+                (after, limit) -> taskRepository.findSummariesByUserIdAfter(userId, after.createdAt(), after.id(), limit),
+                last -> new TaskCursor(last.getCreatedAt(), last.getId()),
+                pending::overlay);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long taskId, Long userId) {
+        PendingChanges pending = taskWriteBehindService.pending(userId);
+        return taskRepository.findResponseByIdAndUserId(taskId, userId)
+                .map(pending::overlay)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+    }
 
-        if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
-        }
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getTaskStats(Long userId) {
+        return taskStatsService.getStats(userId);
+    }
+
+    // ETag values: the stored version plus any pending write-behind change.
+    @Transactional(readOnly = true)
+    public String getTaskListTag(Long userId) {
+        return taskListVersionService.current(userId) + taskWriteBehindService.pendingTag(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public String getTaskTag(Long taskId, Long userId) {
+        return taskRepository.findVersionByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new RuntimeException("Task not found"))
+                + taskWriteBehindService.pendingTag(taskId, userId);
+    }
+
+    // Acknowledges the change once it is journaled; returns null when the write-behind
+    // queue is full and the change should be made synchronously.
+    public Long submitTaskStatus(Long taskId, TaskStatus status, Long userId) {
+        if (taskRepository.findStatusByIdAndUserId(taskId, userId).isEmpty()) {
+            throw new RuntimeException("Task not found");
         }
+        return taskWriteBehindService.submit(userId, taskId, status);
+    }
+
+    public TaskOperationResponse getOperation(Long operationId, Long userId) {
+        return taskWriteBehindService.getOperation(operationId, userId);
+    }
+
+    // Synchronous writes wait for the task's pending write-behind changes, so they are not
+    // overwritten by them later. Not transactional on purpose.
+    public void awaitPendingWrites(Long taskId) {
+        taskWriteBehindService.awaitApplied(taskId);
+    }
+
+    public void awaitPendingWrites(Collection<Long> taskIds) {
+        taskWriteBehindService.awaitApplied(taskIds);
+    }
+
+    @Transactional
+    public TaskResponse updateTask(Long taskId, TaskUpdateRequest request, Long userId) {
+        // The version bump rolls back with the exception when the task is not found.
+        taskListVersionService.advance(userId);
         if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+            taskStatsService.moveTask(userId, taskId, request.getStatus());
+        }
+        int updated = taskRepository.updateByIdAndUserId(
+                taskId, userId, request.getTitle(), request.getDescription(), request.getStatus());
+        if (updated == 0) {
+            throw new RuntimeException("Task not found");
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
+        TaskResponse response = getTaskById(taskId, userId);
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.UPDATED, taskId, response));
+        return response;
     }
 
     @Transactional
-    public void deleteTask(Long taskId, String userEmail) {
-        User user = userDetailsService.getUserByEmail(userEmail);
-        Task task = taskRepository.findByIdAndUserId(taskId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    public void updateTaskStatus(Long taskId, TaskStatus status, Long userId) {
+        taskListVersionService.advance(userId);
+        // Counted from the row before it changes; rolls back with the exception below.
+        taskStatsService.moveTask(userId, taskId, status);
+        if (taskRepository.updateStatusByIdAndUserId(taskId, userId, status) == 0) {
+            throw new RuntimeException("Task not found");
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.UPDATED, taskId,
+                Map.of("id", taskId, "status", status.getValue())));
+    }
 
-        taskRepository.delete(task);
+    @Transactional
+    public void deleteTask(Long taskId, Long userId) {
+        taskListVersionService.advance(userId);
+        taskStatsService.removeTask(userId, taskId);
+        taskTombstoneRepository.insertForTasks(List.of(taskId), userId, LocalDateTime.now());
+        if (taskRepository.deleteByIdAndUserId(taskId, userId) == 0) {
+            throw new RuntimeException("Task not found");
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(userId, TaskChangedEvent.Type.DELETED, taskId,
+                Map.of("id", taskId)));
     }
 
-    private TaskResponse mapToResponse(Task task) {
-        TaskResponse response = new TaskResponse();
-        response.setId(task.getId());
-        response.setTitle(task.getTitle());
-        response.setDescription(task.getDescription());
-        response.setStatus(task.getStatus().getValue());
-        response.setCreatedAt(task.getCreatedAt());
-        response.setUserId(task.getUser().getId());
-        return response;
+    // Page-number listings predate the maximum, so larger sizes get the largest page.
+    private static int clampPageSize(int size) {
+        if (size < 1) {
+            throw new RuntimeException("Page size must not be less than one");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    static void checkPageSize(int size) {
+        if (size < 1) {
+            throw new RuntimeException("Page size must not be less than one");
+        }
+        if (size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must not be greater than " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private <T> CursorPage<T> keysetPage(String cursor, int size,
+                                         Function<Limit, List<T>> firstPage,
+                                         BiFunction<TaskCursor, Limit, List<T>> pageAfter,
+                                         Function<T, TaskCursor> cursorOf,
+                                         UnaryOperator<T> overlay) {
+        checkPageSize(size);
+
+        // One extra row tells us whether another page exists without a count query.
+        Limit limit = Limit.of(size + 1);
+        List<T> rows = cursor == null || cursor.isEmpty()
+                ? firstPage.apply(limit)
+                : pageAfter.apply(TaskCursor.decode(cursor), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPage<>(content.stream().map(overlay).toList(), nextCursor, hasNext, size);
     }
 }
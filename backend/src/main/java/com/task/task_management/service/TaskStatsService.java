@@ -0,0 +1,166 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.TaskStatsResponse;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.entity.TaskStatusCount;
+import com.task.task_management.repository.TaskListVersionRepository;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.TaskStatusCountRepository;
+import com.task.task_management.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code GET /tasks/stats}: task counts by status, read from {@code task_status_counts}
+ * (at most one row per status) instead of counting the user's tasks.
+ *
+ * <p>Task writes adjust the counts in their own transaction, after the list version
+ * increment: its row lock orders a user's writes, so the old status a write reads before
+ * changing a task is the committed one. Status changes and deletes read it inside the
+ * counter UPDATE itself, and a batch adjusts all its statuses in one UPDATE; both need every
+ * status row to exist, which registration creates ({@link #initialize}). {@link #reconcileAll()} recounts every user from
+ * the tasks table under the same lock and corrects drift, e.g. from rows changed in SQL.
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final TaskStatusCountRepository taskStatusCountRepository;
+    private final TaskRepository taskRepository;
+    private final TaskListVersionRepository taskListVersionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskStatsService(TaskStatusCountRepository taskStatusCountRepository,
+                            TaskRepository taskRepository,
+                            TaskListVersionRepository taskListVersionRepository,
+                            UserRepository userRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.taskStatusCountRepository = taskStatusCountRepository;
+        this.taskRepository = taskRepository;
+        this.taskListVersionRepository = taskListVersionRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TaskStatsResponse getStats(Long userId) {
+        Map<TaskStatus, Long> counts = toMap(taskStatusCountRepository.findAllByUserId(userId));
+        long pending = counts.getOrDefault(TaskStatus.PENDING, 0L);
+        long inProgress = counts.getOrDefault(TaskStatus.IN_PROGRESS, 0L);
+        long done = counts.getOrDefault(TaskStatus.DONE, 0L);
+        return new TaskStatsResponse(pending, inProgress, done, pending + inProgress + done);
+    }
+
+    @Transactional
+    public void initialize(Long userId) {
+        taskStatusCountRepository.insertZeros(userId);
+    }
+
+    @Transactional
+    public void add(Long userId, TaskStatus status, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        // Rows are created by the first write per status; a missing row counts as zero.
+        if (taskStatusCountRepository.add(userId, status, delta) == 0) {
+            taskStatusCountRepository.insert(userId, status, delta);
+        }
+    }
+
+    // One statement for every status a batch changes; zero deltas are skipped.
+    @Transactional
+    public void add(Long userId, Map<TaskStatus, Long> deltas) {
+        Set<TaskStatus> changed = EnumSet.noneOf(TaskStatus.class);
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                changed.add(status);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        taskStatusCountRepository.addAll(userId, changed, deltas.getOrDefault(TaskStatus.PENDING, 0L),
+                deltas.getOrDefault(TaskStatus.IN_PROGRESS, 0L), deltas.getOrDefault(TaskStatus.DONE, 0L));
+    }
+
+    // One statement for both counts. Call before updating the task: the old status is
+    // read from its row.
+    @Transactional
+    public void moveTask(Long userId, Long taskId, TaskStatus to) {
+        taskStatusCountRepository.moveTask(userId, taskId, to);
+    }
+
+    // Call before deleting the task.
+    @Transactional
+    public void removeTask(Long userId, Long taskId) {
+        taskStatusCountRepository.removeTask(userId, taskId);
+    }
+
+    // One statement for all statuses. Call before deleting the tasks.
+    @Transactional
+    public void removeTasks(Long userId, Collection<Long> taskIds) {
+        taskStatusCountRepository.removeTasks(userId, taskIds);
+    }
+
+    // One short transaction per user, so writers are only blocked while their own
+    // user is recounted (an index-only scan of that user's tasks).
+    @Scheduled(cron = "${tasks.stats.reconcile-cron:0 0 4 * * *}")
+    public void reconcileAll() {
+        int corrected = 0;
+        Long lastId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(lastId, Limit.of(RECONCILE_BATCH_SIZE));
+            for (Long userId : userIds) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(userId)))) {
+                    corrected++;
+                }
+                lastId = userId;
+            }
+        } while (userIds.size() == RECONCILE_BATCH_SIZE);
+        if (corrected > 0) {
+            log.warn("Corrected task counts of {} users", corrected);
+        }
+    }
+
+    // Returns whether any count was wrong. Must run in a transaction.
+    boolean reconcile(Long userId) {
+        taskListVersionRepository.lockByUserId(userId);
+        Map<TaskStatus, Long> actual = toMap(taskRepository.countByStatus(userId));
+        Map<TaskStatus, Long> stored = toMap(taskStatusCountRepository.findAllByUserId(userId));
+
+        boolean corrected = false;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = actual.getOrDefault(status, 0L);
+            if (count != stored.getOrDefault(status, 0L)) {
+                if (taskStatusCountRepository.set(userId, status, count) == 0) {
+                    taskStatusCountRepository.insert(userId, status, count);
+                }
+                corrected = true;
+            }
+        }
+        return corrected;
+    }
+
+    private static Map<TaskStatus, Long> toMap(List<TaskStatusCount> counts) {
+        Map<TaskStatus, Long> map = new EnumMap<>(TaskStatus.class);
+        counts.forEach(count -> map.put(count.getStatus(), count.getTaskCount()));
+        return map;
+    }
+}
@@ -0,0 +1,331 @@
+package com.task.task_management.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fans committed task changes out to the owner's open {@code GET /tasks/stream} connections.
+ *
+ * <p>Idle connections hold no thread: an {@link SseEmitter} is an async servlet response, and
+ * each connection only has a bounded queue of pending events. A small sender pool drains the
+ * queues; a client that falls more than {@code buffer-size} events behind is disconnected and
+ * catches up by reconnecting with {@code Last-Event-ID}. The last {@code replay-size} events of
+ * each of the {@code replay-users} most recently active users are kept in memory for that, so a
+ * busy user cannot push anyone else's events out; older ids (or ids from before a restart) get
+ * a {@code reset} event, meaning "reload the list". Events are per instance, so every instance
+ * behind a load balancer only streams the writes it handled itself.
+ *
+ * <p>A send that blocks longer than {@code send-timeout} (a stalled client) evicts its stream
+ * and the pool gets a replacement thread, so stalled clients cannot hold up everyone else; the
+ * blocked thread leaves the pool when the container's socket write times out.
+ */
+@Service
+public class TaskStreamService {
+
+    private static final String RESET = "reset";
+    private static final Send STALLED = new Send(0);
+
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int bufferSize;
+    private final int replaySize;
+    // Starting from the clock keeps ids issued after a restart above every id of the
+    // previous run, so stale Last-Event-IDs are recognized instead of misread.
+    private long nextId = System.currentTimeMillis() * 1000;
+    // Events up to this id may be missing from a user's replay: the ids before this run,
+    // then the events of users dropped from replays. Guarded by this.
+    private long forgottenUpTo = nextId - 1;
+    private final Map<Long, UserReplay> replays;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final Counter overflows;
+    private final Counter stalls;
+
+    public TaskStreamService(@Value("${tasks.stream.timeout:30m}") Duration timeout,
+                             @Value("${tasks.stream.send-timeout:10s}") Duration sendTimeout,
+                             @Value("${tasks.stream.buffer-size:1000}") int bufferSize,
+                             @Value("${tasks.stream.replay-size:100}") int replaySize,
+                             @Value("${tasks.stream.replay-users:1000}") int replayUsers,
+                             @Value("${tasks.stream.sender-threads:4}") int senderThreads,
+                             MeterRegistry registry) {
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        // Least recently written users go first.
+        this.replays = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserReplay> eldest) {
+                if (size() <= replayUsers) {
+                    return false;
+                }
+                forgottenUpTo = Math.max(forgottenUpTo, eldest.getValue().lastId());
+                return true;
+            }
+        };
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("tasks.stream.connections", connections, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(registry);
+        this.overflows = Counter.builder("tasks.stream.overflows")
+                .description("Streams closed because the client fell too far behind")
+                .register(registry);
+        this.stalls = Counter.builder("tasks.stream.stalls")
+                .description("Streams closed because a send to the client blocked past the send timeout")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        return subscribe(userId, lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long userId, String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        connections.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Replay and registration happen under the lock that publish() appends under, so
+        // an event is either replayed or delivered live, never both or neither.
+        synchronized (this) {
+            subscriber.offer(SseEmitter.event().reconnectTime(3000).comment("connected"));
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<Event> missed = eventsAfter(userId, lastEventId);
+                // A replay that would overflow the buffer would only loop the client through reconnects.
+                if (missed == null || missed.size() >= bufferSize) {
+                    subscriber.offer(SseEmitter.event().id(String.valueOf(nextId - 1)).name(RESET).data(""));
+                } else {
+                    missed.forEach(event -> subscriber.offer(event.toSse()));
+                }
+            }
+            subscribers.compute(userId, (id, set) -> {
+                Set<Subscriber> users = set != null ? set : ConcurrentHashMap.newKeySet();
+                users.add(subscriber);
+                return users;
+            });
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent change) {
+        publish(change.userId(), "task-" + change.type().name().toLowerCase(Locale.ROOT), change.payload());
+    }
+
+    // Comments keep proxies from closing idle connections and surface dead ones on write.
+    @Scheduled(fixedRateString = "${tasks.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(users -> users.forEach(
+                subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void evictStalledSends() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(users -> users.forEach(subscriber -> subscriber.evictIfStalled(now)));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(users -> users.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private synchronized void publish(Long userId, String name, Object payload) {
+        Event event = new Event(nextId++, name, payload);
+        replays.computeIfAbsent(userId, id -> new UserReplay(forgottenUpTo)).add(event);
+
+        Set<Subscriber> users = subscribers.get(userId);
+        if (users != null) {
+            users.forEach(subscriber -> subscriber.offer(event.toSse()));
+        }
+    }
+
+    // Null when the id cannot be resumed from: unparseable, newer than anything
+    // issued, or older than what the user's replay still holds.
+    private List<Event> eventsAfter(Long userId, String lastEventId) {
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        UserReplay replay = replays.get(userId);
+        long droppedUpTo = replay != null ? replay.droppedUpTo : forgottenUpTo;
+        if (lastId < droppedUpTo || lastId >= nextId) {
+            return null;
+        }
+        List<Event> missed = new ArrayList<>();
+        if (replay != null) {
+            replay.events.stream().filter(event -> event.id > lastId).forEach(missed::add);
+        }
+        return missed;
+    }
+
+    // One user's most recent events, oldest first.
+    private final class UserReplay {
+
+        private final ArrayDeque<Event> events = new ArrayDeque<>();
+        // Highest id that may be missing: dropped from the front, or forgotten before this
+        // replay was created.
+        private long droppedUpTo;
+
+        UserReplay(long droppedUpTo) {
+            this.droppedUpTo = droppedUpTo;
+        }
+
+        void add(Event event) {
+            if (events.size() == replaySize) {
+                droppedUpTo = events.removeFirst().id;
+            }
+            events.addLast(event);
+        }
+
+        long lastId() {
+            return events.isEmpty() ? droppedUpTo : events.getLast().id;
+        }
+    }
+
+    // Replaces (or gives back) a sender thread blocked in a stalled send.
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            if (delta > 0) {
+                senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+                senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+            } else {
+                senders.setCorePoolSize(senders.getCorePoolSize() + delta);
+                senders.setMaximumPoolSize(senders.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private record Event(long id, String name, Object payload) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(String.valueOf(id)).name(name).data(payload, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    // A send in progress, started at System.nanoTime(): compared by identity, as the clock
+    // value may repeat or be negative.
+    private record Send(long started) {
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new LinkedBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // The send in progress, null when idle, STALLED once evicted.
+        private final AtomicReference<Send> send = new AtomicReference<>();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                // complete() waits for a send in progress, so it must not run under the publish lock.
+                overflows.increment();
+                close();
+                senders.execute(emitter::complete);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // At most one drain per subscriber runs at a time, so sends stay in order.
+        private void drain() {
+            boolean evicted = false;
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    Send started = new Send(System.nanoTime());
+                    send.set(started);
+                    try {
+                        emitter.send(event);
+                    } finally {
+                        evicted = !send.compareAndSet(started, null);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (evicted) {
+                // The send returned after all; the stream is already closed, so end it and
+                // give back the thread that replaced this one.
+                emitter.complete();
+                resizeSenders(-1);
+            } else if (!closed.get() && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void evictIfStalled(long now) {
+            Send started = send.get();
+            if (started != null && started != STALLED && now - started.started() > sendTimeoutNanos
+                    && send.compareAndSet(started, STALLED)) {
+                stalls.increment();
+                close();
+                resizeSenders(1);
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            pending.clear();
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(userId, (id, users) -> {
+                users.remove(this);
+                return users.isEmpty() ? null : users;
+            });
+        }
+    }
+}
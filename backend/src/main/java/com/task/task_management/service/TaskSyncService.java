@@ -0,0 +1,84 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.TaskChangesResponse;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.entity.TaskListVersion;
+import com.task.task_management.repository.TaskListVersionRepository;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delta sync for {@code GET /tasks/changes}. The watermark is the user's task list version
+ * (see {@link TaskListVersionService}): every write stamps it on the rows it touches, and
+ * deletes leave a tombstone carrying it, so "changed since N" is two index range scans.
+ * Tombstones are purged after {@code tombstone-retention}; the highest purged version is
+ * kept as a horizon, and older watermarks get a reset instead of a silently incomplete delta.
+ */
+@Service
+public class TaskSyncService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListVersionRepository taskListVersionRepository;
+    private final int maxChanges;
+    private final Duration tombstoneRetention;
+
+    public TaskSyncService(TaskRepository taskRepository,
+                           TaskTombstoneRepository taskTombstoneRepository,
+                           TaskListVersionRepository taskListVersionRepository,
+                           @Value("${tasks.sync.max-changes:1000}") int maxChanges,
+                           @Value("${tasks.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskListVersionRepository = taskListVersionRepository;
+        this.maxChanges = maxChanges;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // One read-only transaction, so the watermark and the rows come from the same snapshot.
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(Long userId, long since) {
+        TaskListVersion state = taskListVersionRepository.findById(userId).orElse(null);
+        long watermark = state != null ? state.getVersion() : 0L;
+        long horizon = state != null ? state.getTombstoneHorizon() : 0L;
+
+        if (since == watermark) {
+            return new TaskChangesResponse(watermark, false, List.of(), List.of());
+        }
+        // A watermark from the future (e.g. another account) or from before purged
+        // tombstones cannot be answered with a delta.
+        if (since < 0 || since > watermark || since < horizon) {
+            return reset(watermark);
+        }
+
+        // One row over the limit tells us the delta is too large without counting it.
+        Limit limit = Limit.of(maxChanges + 1);
+        List<TaskResponse> changed = taskRepository.findResponsesChangedSince(userId, since, limit);
+        List<Long> deleted = taskTombstoneRepository.findTaskIdsDeletedSince(userId, since, limit);
+        if (changed.size() + deleted.size() > maxChanges) {
+            return reset(watermark);
+        }
+        return new TaskChangesResponse(watermark, false, changed, deleted);
+    }
+
+    @Scheduled(cron = "${tasks.sync.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        taskListVersionRepository.raiseTombstoneHorizons(cutoff);
+        taskTombstoneRepository.deleteOlderThan(cutoff);
+    }
+
+    private static TaskChangesResponse reset(long watermark) {
+        return new TaskChangesResponse(watermark, true, List.of(), List.of());
+    }
+}
@@ -0,0 +1,376 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.BatchItemResult;
+import com.task.task_management.dto.TaskBatchUpdateRequest;
+import com.task.task_management.dto.TaskOperationResponse;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.service.TaskWriteJournal.Entry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Acknowledged-but-asynchronous status updates ({@code PATCH /tasks/{id}/status} with
+ * {@code Prefer: respond-async}). A change is appended to the {@link TaskWriteJournal} and
+ * synced to disk before the 202; a single committer thread then applies queued changes
+ * through {@link TaskBatchService#updateTasks}, one transaction per user per batch, and
+ * checkpoints the journal. Changes still in the journal at startup are applied again; a
+ * status update is idempotent, so one applied just before a crash does no harm. While the
+ * database is unreachable or a transient error persists, the committer retries with backoff
+ * and never checkpoints past a change it could not apply. Any other error fails the changes
+ * it hits, one by one, like a per-task rejection (e.g. the task was deleted): they are
+ * recorded as failed and checkpointed past, so one bad change cannot stall the rest.
+ *
+ * <p>Until a change is applied, {@link TaskService} reads show the pending status and the
+ * list and task ETags carry the pending operation. Reads take the user's pending changes
+ * before querying ({@link #pending}): a change applied after that is overlaid on a row that
+ * may predate it, and one applied before is already visible to the query. Filters, stats, search, export and
+ * delta sync read the database and see the change once it is applied. The journal is local
+ * to this instance: run one instance per journal directory.
+ */
+@Service
+public class TaskWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehindService.class);
+
+    private static final int MAX_OUTCOMES = 10_000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(10);
+    private static final Duration PENDING_WAIT = Duration.ofSeconds(10);
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(30);
+    private static final String APPLY_FAILED = "Could not apply the status change";
+
+    private record Outcome(long userId, String error) {
+    }
+
+    private final TaskBatchService taskBatchService;
+    private final TaskWriteJournal journal;
+    private final Path temporaryDirectory;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, Entry> pendingOperations = new ConcurrentHashMap<>();
+    // Latest pending change per task, the same grouped by user (for reads), and latest
+    // pending operation per user (for ETags).
+    private final Map<Long, Entry> pendingByTask = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Entry>> pendingTasksByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Long> pendingByUser = new ConcurrentHashMap<>();
+    private final Map<Long, Outcome> outcomes = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Outcome> eldest) {
+            return size() > MAX_OUTCOMES;
+        }
+    });
+
+    private final Object appliedLock = new Object();
+    private long appliedSeq;
+
+    private volatile boolean running;
+    private Thread committer;
+
+    public TaskWriteBehindService(TaskBatchService taskBatchService,
+                                  @Value("${tasks.write-behind.journal-dir:}") String journalDir,
+                                  @Value("${tasks.write-behind.segment-size:16MB}") DataSize segmentSize,
+                                  @Value("${tasks.write-behind.max-pending:100000}") int maxPending,
+                                  @Value("${tasks.write-behind.batch-size:500}") int batchSize) throws IOException {
+        this.taskBatchService = taskBatchService;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        // A blank directory journals to a temporary one: no recovery across restarts.
+        this.temporaryDirectory = journalDir.isBlank() ? Files.createTempDirectory("task-journal") : null;
+
+        List<Entry> unapplied = new ArrayList<>();
+        this.journal = TaskWriteJournal.open(temporaryDirectory != null ? temporaryDirectory : Path.of(journalDir),
+                (int) segmentSize.toBytes(), unapplied);
+        unapplied.forEach(this::track);
+        if (!unapplied.isEmpty()) {
+            log.info("Replaying {} task status changes from the write-behind journal", unapplied.size());
+        }
+    }
+
+    // Returns the operation id, or null when too many changes are pending and the caller
+    // should write synchronously instead. Ownership must have been checked.
+    public Long submit(Long userId, Long taskId, TaskStatus status) {
+        Entry entry;
+        // Keeps the queue in sequence order, and the pending count under max-pending.
+        synchronized (this) {
+            if (pendingOperations.size() >= maxPending) {
+                return null;
+            }
+            entry = new Entry(journal.append(userId, taskId, status), userId, taskId, status);
+            track(entry);
+        }
+        journal.sync(entry.seq());
+        return entry.seq();
+    }
+
+    public TaskOperationResponse getOperation(Long operationId, Long userId) {
+        Entry pending = pendingOperations.get(operationId);
+        if (pending != null && pending.userId() == userId) {
+            return new TaskOperationResponse(operationId, "pending", null);
+        }
+        Outcome outcome = outcomes.get(operationId);
+        if (outcome != null && outcome.userId() == userId) {
+            return new TaskOperationResponse(operationId, outcome.error() == null ? "applied" : "failed", outcome.error());
+        }
+        throw new RuntimeException("Operation not found");
+    }
+
+    // Lets a synchronous write to the task go after its pending changes instead of being
+    // overwritten by them. Call outside a transaction: the committer needs the user's locks.
+    public void awaitApplied(Long taskId) {
+        awaitApplied(List.of(taskId));
+    }
+
+    public void awaitApplied(Collection<Long> taskIds) {
+        long seq = 0;
+        for (Long taskId : taskIds) {
+            Entry pending = taskId != null ? pendingByTask.get(taskId) : null;
+            if (pending != null) {
+                seq = Math.max(seq, pending.seq());
+            }
+        }
+        if (seq == 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + PENDING_WAIT.toNanos();
+        synchronized (appliedLock) {
+            while (appliedSeq < seq) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Task has pending changes, try again later");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(appliedLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for pending changes");
+                }
+            }
+        }
+    }
+
+    // Take before querying the user's tasks, and overlay the rows with it afterwards.
+    public PendingChanges pending(Long userId) {
+        Map<Long, Entry> tasks = pendingTasksByUser.get(userId);
+        return tasks == null ? PendingChanges.NONE : new PendingChanges(Map.copyOf(tasks));
+    }
+
+    public static final class PendingChanges {
+
+        static final PendingChanges NONE = new PendingChanges(Map.of());
+
+        private final Map<Long, Entry> byTask;
+
+        private PendingChanges(Map<Long, Entry> byTask) {
+            this.byTask = byTask;
+        }
+
+        public TaskResponse overlay(TaskResponse task) {
+            Entry pending = byTask.get(task.getId());
+            if (pending == null) {
+                return task;
+            }
+            return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), pending.status(),
+                    task.getCreatedAt(), task.getUserId());
+        }
+
+        public TaskSummaryResponse overlay(TaskSummaryResponse task) {
+            Entry pending = byTask.get(task.getId());
+            if (pending == null) {
+                return task;
+            }
+            return new TaskSummaryResponse(task.getId(), task.getTitle(), pending.status(), task.getCreatedAt(),
+                    task.getUserId());
+        }
+    }
+
+    // Suffix for ETags, so a cached response is not revalidated while a change is pending.
+    public String pendingTag(Long userId) {
+        Long seq = pendingByUser.get(userId);
+        return seq != null ? ".p" + seq : "";
+    }
+
+    public String pendingTag(Long taskId, Long userId) {
+        Entry pending = pendingByTask.get(taskId);
+        return pending != null && pending.userId() == userId ? ".p" + pending.seq() : "";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        committer = new Thread(this::run, "task-write-behind");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    // Drains the queue first; whatever is left is replayed at the next start.
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        if (committer != null) {
+            committer.join(SHUTDOWN_WAIT.toMillis());
+        }
+        journal.close();
+        if (temporaryDirectory != null) {
+            FileSystemUtils.deleteRecursively(temporaryDirectory);
+        }
+    }
+
+    private void track(Entry entry) {
+        pendingOperations.put(entry.seq(), entry);
+        pendingByTask.put(entry.taskId(), entry);
+        pendingTasksByUser.compute(entry.userId(), (userId, tasks) -> {
+            Map<Long, Entry> updated = tasks != null ? tasks : new ConcurrentHashMap<>();
+            updated.put(entry.taskId(), entry);
+            return updated;
+        });
+        pendingByUser.put(entry.userId(), entry.seq());
+        queue.add(entry);
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Under load the queue fills while a batch is applied, so batches grow by themselves.
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!apply(batch)) {
+                    // Stopped while the database was failing: the rest stays for replay.
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // False when stopped before the whole batch was applied; nothing is checkpointed then.
+    private boolean apply(List<Entry> batch) throws InterruptedException {
+        Map<Long, List<Entry>> byUser = batch.stream()
+                .collect(Collectors.groupingBy(Entry::userId, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<Long, List<Entry>> group : byUser.entrySet()) {
+            List<Entry> entries = group.getValue();
+            List<TaskBatchUpdateRequest> requests = entries.stream()
+                    .map(entry -> new TaskBatchUpdateRequest(entry.taskId(), null, null, entry.status()))
+                    .toList();
+            List<BatchItemResult> results = applyWithRetry(group.getKey(), requests);
+            if (results == null) {
+                return false;
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                complete(entries.get(i), results.get(i).isSuccess() ? null : results.get(i).getError());
+            }
+        }
+
+        long last = batch.get(batch.size() - 1).seq();
+        journal.checkpoint(last);
+        synchronized (appliedLock) {
+            appliedSeq = last;
+            appliedLock.notifyAll();
+        }
+        return true;
+    }
+
+    // Returns a result per change, or null once stopped while retrying; the changes then
+    // stay in the journal. Items the batch rejects (e.g. the task was deleted meanwhile) come
+    // back as failed results, and so does a change that fails in a way retrying cannot fix:
+    // the group is then applied one change at a time so the others still go through.
+    private List<BatchItemResult> applyWithRetry(Long userId, List<TaskBatchUpdateRequest> requests)
+            throws InterruptedException {
+        try {
+            return retryTransient(userId, requests);
+        } catch (RuntimeException e) {
+            if (requests.size() == 1) {
+                log.error("Failing task status change of task {} of user {}", requests.get(0).getId(), userId, e);
+                return List.of(BatchItemResult.failure(0, requests.get(0).getId(), APPLY_FAILED));
+            }
+            log.warn("Could not apply {} task status changes of user {}, applying them one by one",
+                    requests.size(), userId, e);
+        }
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        for (TaskBatchUpdateRequest request : requests) {
+            List<BatchItemResult> result = applyWithRetry(userId, List.of(request));
+            if (result == null) {
+                return null;
+            }
+            results.add(result.get(0));
+        }
+        return results;
+    }
+
+    // Retries transient failures until the changes are applied, or returns null once
+    // stopped; any other failure is thrown.
+    private List<BatchItemResult> retryTransient(Long userId, List<TaskBatchUpdateRequest> requests)
+            throws InterruptedException {
+        long delay = RETRY_DELAY.toMillis();
+        while (true) {
+            try {
+                return taskBatchService.updateTasks(requests, userId).getResults();
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                if (!running) {
+                    log.error("Leaving {} task status changes of user {} for replay", requests.size(), userId, e);
+                    return null;
+                }
+                log.warn("Could not apply task status changes of user {}, retrying in {} ms", userId, delay, e);
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    // Lost connections, lock timeouts, deadlocks and version conflicts.
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void complete(Entry entry, String error) {
+        outcomes.put(entry.seq(), new Outcome(entry.userId(), error));
+        pendingOperations.remove(entry.seq());
+        // Only if no newer change replaced it meanwhile.
+        pendingByTask.remove(entry.taskId(), entry);
+        pendingTasksByUser.computeIfPresent(entry.userId(), (userId, tasks) -> {
+            tasks.remove(entry.taskId(), entry);
+            return tasks.isEmpty() ? null : tasks;
+        });
+        pendingByUser.remove(entry.userId(), entry.seq());
+    }
+}
@@ -0,0 +1,239 @@
+package com.task.task_management.service;
+
+import com.task.task_management.entity.TaskStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of accepted-but-unapplied status changes, for
+ * {@link TaskWriteBehindService}. Records are fixed-size and checksummed, appended to
+ * memory-mapped segment files and made durable with {@link #sync}; a checkpoint file holds
+ * the highest sequence applied to the database. {@link #open} returns every record after the
+ * checkpoint, so a crash loses nothing that {@link #sync} returned for. A torn or never
+ * written record ends a segment.
+ */
+class TaskWriteJournal implements AutoCloseable {
+
+    // seq, userId, taskId, status code, padding, CRC32C of the preceding 28 bytes
+    static final int RECORD_SIZE = 32;
+    private static final int CHECKSUMMED_SIZE = 28;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+
+    record Entry(long seq, long userId, long taskId, TaskStatus status) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FileChannel checkpoint;
+    // First sequence of each segment still on disk, oldest first; the last one is being written.
+    private final List<Long> segments = new ArrayList<>();
+
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private long lastSeq;
+    private long appliedSeq;
+
+    private final Object syncLock = new Object();
+    private volatile long durableSeq;
+
+    private TaskWriteJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.checkpoint = FileChannel.open(directory.resolve(CHECKPOINT),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Opens the journal in {@code directory} and adds the records not yet applied to
+     * {@code unapplied}, in sequence order. Appends go to a new segment.
+     */
+    static TaskWriteJournal open(Path directory, int segmentSize, List<Entry> unapplied) throws IOException {
+        Files.createDirectories(directory);
+        TaskWriteJournal journal = new TaskWriteJournal(directory, segmentSize);
+        try {
+            journal.recover(unapplied);
+        } catch (IOException | RuntimeException e) {
+            journal.checkpoint.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    synchronized long append(long userId, long taskId, TaskStatus status) {
+        if (!segment.hasRemaining()) {
+            roll();
+        }
+        long seq = lastSeq + 1;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE)
+                .putLong(seq).putLong(userId).putLong(taskId).put(code(status));
+        record.position(CHECKSUMMED_SIZE);
+        record.putInt((int) checksum(record.array()));
+        segment.put(record.array());
+        lastSeq = seq;
+        return seq;
+    }
+
+    // Group sync: one force covers every record appended before it started, so callers
+    // that arrive while a force is running usually find their record already durable.
+    void sync(long seq) {
+        if (durableSeq >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableSeq >= seq) {
+                return;
+            }
+            MappedByteBuffer current;
+            long target;
+            synchronized (this) {
+                current = segment;
+                target = lastSeq;
+            }
+            // Earlier segments were forced when they were rolled.
+            current.force();
+            durableSeq = target;
+        }
+    }
+
+    synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    // Records up to seq are in the database; drops the segments that hold nothing newer.
+    synchronized void checkpoint(long seq) {
+        if (seq <= appliedSeq) {
+            return;
+        }
+        try {
+            checkpoint.write(ByteBuffer.allocate(Long.BYTES).putLong(0, seq), 0);
+            checkpoint.force(false);
+            appliedSeq = seq;
+            while (segments.size() > 1 && segments.get(1) - 1 <= seq) {
+                Files.deleteIfExists(segmentPath(segments.remove(0)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        segment.force();
+        segmentChannel.close();
+        checkpoint.close();
+    }
+
+    private void recover(List<Entry> unapplied) throws IOException {
+        ByteBuffer saved = ByteBuffer.allocate(Long.BYTES);
+        appliedSeq = checkpoint.read(saved, 0) == Long.BYTES ? saved.getLong(0) : 0L;
+        lastSeq = appliedSeq;
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file));
+            byte[] record = new byte[RECORD_SIZE];
+            int records = 0;
+            while (data.remaining() >= RECORD_SIZE) {
+                data.get(record);
+                ByteBuffer fields = ByteBuffer.wrap(record);
+                long seq = fields.getLong();
+                if (seq == 0 || fields.getInt(CHECKSUMMED_SIZE) != (int) checksum(record)) {
+                    break;
+                }
+                if (seq > appliedSeq) {
+                    unapplied.add(new Entry(seq, fields.getLong(), fields.getLong(), status(fields.get())));
+                }
+                lastSeq = Math.max(lastSeq, seq);
+                records++;
+            }
+            // A segment rolled just before a crash may hold nothing; its name would clash.
+            if (records == 0) {
+                Files.delete(file);
+            } else {
+                segments.add(firstSeq(file));
+            }
+        }
+        durableSeq = lastSeq;
+        roll();
+    }
+
+    private void roll() {
+        try {
+            if (segment != null) {
+                segment.force();
+                segmentChannel.close();
+            }
+            long firstSeq = lastSeq + 1;
+            segmentChannel = FileChannel.open(segmentPath(firstSeq),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Mapping past the end grows the file; the unwritten tail reads back as zeros.
+            segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segments.add(firstSeq);
+            syncDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Makes the new segment's directory entry durable (not supported on every platform).
+    private void syncDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Best effort.
+        }
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSeq(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Codes written to disk, independent of the enum's order; never reuse one. A code this
+    // version does not know (a journal from a newer one) fails startup rather than being
+    // applied as the wrong status.
+    private static byte code(TaskStatus status) {
+        return switch (status) {
+            case PENDING -> 0;
+            case IN_PROGRESS -> 1;
+            case DONE -> 2;
+        };
+    }
+
+    private static TaskStatus status(byte code) {
+        return switch (code) {
+            case 0 -> TaskStatus.PENDING;
+            case 1 -> TaskStatus.IN_PROGRESS;
+            case 2 -> TaskStatus.DONE;
+            default -> throw new IllegalStateException("Unknown task status code " + code + " in the write-behind journal");
+        };
+    }
+
+    private static long checksum(byte[] record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record, 0, CHECKSUMMED_SIZE);
+        return crc.getValue();
+    }
+}
@@ -3,15 +3,20 @@ package com.task.task_management.service;
 
 import com.task.task_management.entity.User;
 import com.task.task_management.repository.UserRepository;
+import com.task.task_management.security.UserPrincipal;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    public static final String PRINCIPAL_CACHE = "principals";
 
     private final UserRepository userRepository;
 
@@ -20,20 +25,26 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    @Cacheable(PRINCIPAL_CACHE)
+    public UserPrincipal loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
+        return UserPrincipal.from(user);
+    }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                new ArrayList<>()
-        );
+    @CacheEvict(PRINCIPAL_CACHE)
+    public void evictPrincipal(String email) {
     }
 
-    public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    // Called after a successful login whose stored hash used a lower BCrypt cost.
+    @Override
+    @Transactional
+    @CacheEvict(value = PRINCIPAL_CACHE, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        return UserPrincipal.from(entity);
     }
 }
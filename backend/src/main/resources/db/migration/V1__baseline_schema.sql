@@ -0,0 +1,22 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Existing
+-- databases are baselined at this version and start from V2.
+CREATE TABLE users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT,
+    status      ENUM('DONE', 'IN_PROGRESS', 'PENDING') NOT NULL,
+    created_at  DATETIME(6),
+    user_id     BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,4 @@
+-- Serves GET /tasks in both modes: the newest-first offset page and the
+-- keyset page seek on (created_at, id) within one user's tasks.
+-- findByIdAndUserId is served by the primary key.
+CREATE INDEX idx_tasks_user_created_id ON tasks (user_id, created_at DESC, id DESC);
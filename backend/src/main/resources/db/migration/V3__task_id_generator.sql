@@ -0,0 +1,11 @@
+-- Task ids move from AUTO_INCREMENT to a pooled table generator so Hibernate can
+-- batch inserts. Each read of next_val reserves the block (next_val - 49 .. next_val),
+-- so the seed is the first block above every existing id.
+CREATE TABLE id_generators (
+    name     VARCHAR(64) NOT NULL,
+    next_val BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'tasks', COALESCE(MAX(id), 0) + 50 FROM tasks;
@@ -0,0 +1,13 @@
+-- Optimistic-lock version per task, and a per-user counter bumped by every task
+-- write so a list ETag can be checked with a primary-key lookup.
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE task_list_versions (
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_task_list_versions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO task_list_versions (user_id, version)
+SELECT id, 0 FROM users;
@@ -0,0 +1,19 @@
+-- Delta sync (GET /tasks/changes). Every task row records the owner's list version
+-- of its last change, and deletes leave a tombstone stamped the same way, so the
+-- changes after a watermark are an index range on (user_id, list_version).
+ALTER TABLE tasks ADD COLUMN list_version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_tasks_user_list_version ON tasks (user_id, list_version);
+
+CREATE TABLE task_tombstones (
+    task_id      BIGINT      NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    list_version BIGINT      NOT NULL,
+    deleted_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (task_id),
+    CONSTRAINT fk_task_tombstones_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+CREATE INDEX idx_task_tombstones_user_list_version ON task_tombstones (user_id, list_version);
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
+
+-- Highest list version whose tombstones have been purged; older watermarks must resync.
+ALTER TABLE task_list_versions ADD COLUMN tombstone_horizon BIGINT NOT NULL DEFAULT 0;
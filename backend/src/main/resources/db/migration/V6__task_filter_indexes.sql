@@ -0,0 +1,6 @@
+-- Filtered and sorted GET /tasks listings (see TaskQueryPlanner). Status filters
+-- sorted by date, and title prefixes / title order with and without a status
+-- filter; date-only filters use idx_tasks_user_created_id from V2.
+CREATE INDEX idx_tasks_user_status_created_id ON tasks (user_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_user_title_id ON tasks (user_id, title, id);
+CREATE INDEX idx_tasks_user_status_title_id ON tasks (user_id, status, title, id);
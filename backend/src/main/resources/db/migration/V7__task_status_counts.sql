@@ -0,0 +1,12 @@
+-- Per-user task counts by status for GET /tasks/stats, kept in step by the task writes
+-- and periodically reconciled against the tasks table (TaskStatsService).
+CREATE TABLE task_status_counts (
+    user_id    BIGINT                                 NOT NULL,
+    status     ENUM('DONE', 'IN_PROGRESS', 'PENDING') NOT NULL,
+    task_count BIGINT                                 NOT NULL,
+    PRIMARY KEY (user_id, status),
+    CONSTRAINT fk_task_status_counts_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO task_status_counts (user_id, status, task_count)
+SELECT user_id, status, COUNT(*) FROM tasks GROUP BY user_id, status;
@@ -0,0 +1,11 @@
+-- Tasks created before delta sync kept list_version 0 from V5's column default, so a
+-- sync from watermark 0 skipped them. Stamp them with version 1 and raise their owners'
+-- list versions to match.
+UPDATE tasks SET list_version = 1 WHERE list_version = 0;
+
+UPDATE task_list_versions SET version = 1
+WHERE version = 0 AND user_id IN (SELECT user_id FROM tasks);
+
+INSERT INTO task_list_versions (user_id, version)
+SELECT DISTINCT user_id, 1 FROM tasks
+WHERE user_id NOT IN (SELECT user_id FROM task_list_versions);
@@ -0,0 +1,8 @@
+-- Status changes and deletes adjust the counts with one UPDATE that derives the old status
+-- from the task row, so every user needs a row per status. Registration creates them;
+-- this adds the missing ones for existing users.
+INSERT INTO task_status_counts (user_id, status, task_count)
+SELECT u.id, s.status, 0
+FROM users u
+CROSS JOIN (SELECT 'PENDING' AS status UNION ALL SELECT 'IN_PROGRESS' UNION ALL SELECT 'DONE') s
+WHERE NOT EXISTS (SELECT 1 FROM task_status_counts c WHERE c.user_id = u.id AND c.status = s.status);
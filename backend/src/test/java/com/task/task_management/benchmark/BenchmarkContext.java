@@ -0,0 +1,28 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.TaskManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(TaskManagementApplication.class)
+                .profiles("test")
+                .run(Stream.concat(Stream.of(
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.task.task_management=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        // Query budgets are checked by the tests, not measured here.
+                        "--tasks.query-count.header=false",
+                        "--tasks.query-budget.fail=false"
+                ), Stream.of(properties).map(property -> "--" + property)).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,96 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.security.JwtAuthenticationFilter;
+import com.task.task_management.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter path for a repeated bearer token: the pre-change triple parse, a single
+ * parse with the verified-token cache disabled, and a single parse served from the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    static final String SECRET =
+            "VGVzdFNlY3JldEtleUZvckpXVFRva2VuR2VuZXJhdGlvbk11c3RCZUxvbmdFbm91Z2hGb3JUZXN0aW5n";
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        UserDetailsService userDetailsService = email -> {
+            throw new UsernameNotFoundException(email);
+        };
+        JwtUtil uncachedJwtUtil = new JwtUtil(SECRET, 3_600_000L, 0);
+        JwtUtil cachedJwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+
+        uncachedFilter = new JwtAuthenticationFilter(uncachedJwtUtil, userDetailsService, new SimpleMeterRegistry());
+        cachedFilter = new JwtAuthenticationFilter(cachedJwtUtil, userDetailsService, new SimpleMeterRegistry());
+        token = cachedJwtUtil.generateToken(1L, "john@example.com");
+
+        request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(legacyClaims(token).getSubject())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Authentication singleParseUncached() throws Exception {
+        return runFilter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Authentication singleParseCached() throws Exception {
+        return runFilter(cachedFilter);
+    }
+
+    private Authentication runFilter(JwtAuthenticationFilter filter) throws Exception {
+        try {
+            filter.doFilter(request, response, NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Mirrors the JwtUtil implementation before the key was precomputed and claims parsed once.
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
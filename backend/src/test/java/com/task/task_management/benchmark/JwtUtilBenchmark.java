@@ -0,0 +1,46 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (every login and register) and verification (every authenticated request),
+ * with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedJwtUtil = new JwtUtil(JwtAuthenticationFilterBenchmark.SECRET, 3_600_000L, 0);
+        cachedJwtUtil = new JwtUtil(JwtAuthenticationFilterBenchmark.SECRET, 3_600_000L, 10_000);
+        token = cachedJwtUtil.generateToken(1L, "john@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken(1L, "john@example.com");
+    }
+
+    @Benchmark
+    public Claims parseTokenUncached() {
+        return uncachedJwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims parseTokenCached() {
+        return cachedJwtUtil.parseToken(token);
+    }
+}
@@ -0,0 +1,354 @@
+package com.task.task_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_management.dto.AuthResponse;
+import com.task.task_management.dto.BatchItemResult;
+import com.task.task_management.dto.RegisterRequest;
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.service.AuthService;
+import com.task.task_management.service.TaskBatchService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop HTTP load test of the API on an embedded H2 database, in platform-thread and
+ * virtual-thread mode: N connections each send their next request as soon as the previous
+ * one completes. Needs no network beyond loopback.
+ *
+ * <pre>
+ * mvn -Ploadtest verify -Dloadtest="--modes=platform,virtual --connections=1000,5000,10000 --duration=30"
+ * mvn -Ploadtest verify -Dloadtest="--scenario=mix --users=100 --tasks=1000 --mix=login:5,list:55,create:20,update:15,delete:5"
+ * </pre>
+ *
+ * Scenarios: {@code list} (GET /tasks, JDBC bound), {@code login} (POST /auth/login, BCrypt
+ * bound) and {@code mix}, a weighted mix of login, list, create (POST /tasks), update
+ * (PUT /tasks/{id}) and delete (DELETE /tasks/{id}). The database is seeded with
+ * {@code users} users of {@code tasks} tasks each; connection i acts as user i % users and
+ * only updates and deletes tasks no other connection touches, so errors are real failures.
+ * Latencies go into HdrHistogram (3 significant digits) per operation. Being closed-loop, the
+ * percentiles leave out the wait a slow response imposes on the requests behind it.
+ * Virtual mode needs a Java 21+ JVM; on older runtimes Spring ignores the flag and both
+ * modes use the Tomcat pool. Raise {@code ulimit -n} above the connection count first.
+ */
+public final class LoadTestHarness {
+
+    private static final String PASSWORD = "password123";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private enum Operation {
+        LOGIN, LIST, CREATE, UPDATE, DELETE
+    }
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        System.out.printf("java %s, scenario %s %s, %d users x %d tasks, %ds warmup + %ds measured per row%n",
+                Runtime.version(), options.scenario, options.mix, options.users, options.tasks,
+                options.warmupSeconds, options.durationSeconds);
+        System.out.printf("%-9s %11s %-7s %10s %8s %10s %8s %8s %8s %8s %9s%n",
+                "mode", "connections", "op", "requests", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        int maxConnections = options.connections.stream().max(Integer::compare).orElseThrow();
+        for (String mode : options.modes) {
+            try (ConfigurableApplicationContext context = BenchmarkContext.start("loadtest-" + mode,
+                    "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                    "server.tomcat.max-connections=" + (maxConnections + 100),
+                    "server.tomcat.accept-count=" + maxConnections)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+                List<SeededUser> users = seed(context, options.users, options.tasks);
+                for (int connections : options.connections) {
+                    Result result = run(baseUrl, users, options.mix, connections,
+                            options.warmupSeconds, options.durationSeconds);
+                    result.print(mode, connections, options.durationSeconds);
+                }
+            }
+        }
+    }
+
+    private record SeededUser(String email, String token, List<Long> taskIds) {
+    }
+
+    private static List<SeededUser> seed(ConfigurableApplicationContext context, int userCount, int taskCount) {
+        AuthService authService = context.getBean(AuthService.class);
+        TaskBatchService taskBatchService = context.getBean(TaskBatchService.class);
+        List<SeededUser> users = new ArrayList<>(userCount);
+        for (int u = 0; u < userCount; u++) {
+            RegisterRequest register = new RegisterRequest();
+            register.setName("Load Test " + u);
+            register.setEmail("load" + u + "@example.com");
+            register.setPassword(PASSWORD);
+            AuthResponse auth = authService.register(register);
+
+            List<Long> ids = new ArrayList<>(taskCount);
+            for (int from = 0; from < taskCount; from += 1000) {
+                List<TaskRequest> tasks = IntStream.range(from, Math.min(taskCount, from + 1000))
+                        .mapToObj(i -> new TaskRequest("Task " + i, "Seeded for the load test", null))
+                        .toList();
+                taskBatchService.createTasks(tasks, auth.getId()).getResults().stream()
+                        .map(BatchItemResult::getId)
+                        .forEach(ids::add);
+            }
+            users.add(new SeededUser(register.getEmail(), auth.getToken(), ids));
+        }
+        return users;
+    }
+
+    private static Result run(String baseUrl, List<SeededUser> users, Mix mix, int connections,
+                              int warmupSeconds, int durationSeconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        Result result = new Result();
+
+        CountDownLatch finished = new CountDownLatch(connections);
+        List<Connection> workers = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            SeededUser user = users.get(i % users.size());
+            // This connection's share of the user's tasks; the connections of one user never share ids.
+            int sharing = connections / users.size() + (i % users.size() < connections % users.size() ? 1 : 0);
+            int slot = i / users.size();
+            Deque<Long> owned = new ArrayDeque<>();
+            for (int t = slot; t < user.taskIds().size(); t += sharing) {
+                owned.add(user.taskIds().get(t));
+            }
+            Connection worker = new Connection(client, baseUrl, user, owned, mix, measureFrom, deadline, result, finished);
+            workers.add(worker);
+            worker.next();
+        }
+        finished.await();
+
+        // The next row starts from the tasks that exist now, not the seeded ones.
+        users.forEach(user -> user.taskIds().clear());
+        workers.forEach(worker -> worker.user.taskIds().addAll(worker.owned));
+        return result;
+    }
+
+    // One logical connection. Callbacks of a single worker never overlap, so its task ids
+    // need no locking; the histograms are shared and take concurrent writers.
+    private static final class Connection {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final SeededUser user;
+        private final Deque<Long> owned;
+        private final Mix mix;
+        private final long measureFrom;
+        private final long deadline;
+        private final Result result;
+        private final CountDownLatch finished;
+
+        Connection(HttpClient client, String baseUrl, SeededUser user, Deque<Long> owned, Mix mix,
+                   long measureFrom, long deadline, Result result, CountDownLatch finished) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.user = user;
+            this.owned = owned;
+            this.mix = mix;
+            this.measureFrom = measureFrom;
+            this.deadline = deadline;
+            this.result = result;
+            this.finished = finished;
+        }
+
+        void next() {
+            long start = System.nanoTime();
+            if (start >= deadline) {
+                finished.countDown();
+                return;
+            }
+            Operation operation = mix.pick();
+            if ((operation == Operation.UPDATE || operation == Operation.DELETE) && owned.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            Operation sent = operation;
+            Long taskId = switch (sent) {
+                case UPDATE -> owned.peekFirst();
+                case DELETE -> owned.pollFirst();
+                default -> null;
+            };
+            client.sendAsync(request(sent, taskId), HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long elapsed = System.nanoTime() - start;
+                boolean failed = error != null || response.statusCode() >= 400;
+                if (!failed && sent == Operation.CREATE) {
+                    owned.addLast(createdId(response.body()));
+                } else if (!failed && sent == Operation.UPDATE) {
+                    // Rotate so updates spread over the connection's tasks.
+                    owned.addLast(owned.pollFirst());
+                }
+                if (start >= measureFrom) {
+                    result.record(sent, elapsed, failed);
+                }
+                next();
+            });
+        }
+
+        private HttpRequest request(Operation operation, Long taskId) {
+            HttpRequest.Builder builder = switch (operation) {
+                case LOGIN -> HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + user.email() + "\",\"password\":\"" + PASSWORD + "\"}"));
+                case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "/tasks?cursor=&size=20")).GET();
+                case CREATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/tasks"))
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"title\":\"Load task\",\"description\":\"Created by the load test\",\"status\":\"pending\"}"));
+                case UPDATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/" + taskId))
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"title\":\"Updated task\",\"status\":\"in_progress\"}"));
+                case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/" + taskId)).DELETE();
+            };
+            if (operation != Operation.LOGIN) {
+                builder.header("Authorization", "Bearer " + user.token());
+            }
+            return builder.header("Content-Type", "application/json").build();
+        }
+
+        private static long createdId(String body) {
+            try {
+                return MAPPER.readTree(body).get("id").asLong();
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected create response: " + body, e);
+            }
+        }
+    }
+
+    private static final class Result {
+
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+        Result() {
+            for (Operation operation : Operation.values()) {
+                // Microseconds, resized as needed.
+                latencies.put(operation, new ConcurrentHistogram(3));
+                errors.put(operation, new AtomicLong());
+            }
+        }
+
+        void record(Operation operation, long nanos, boolean failed) {
+            if (failed) {
+                errors.get(operation).incrementAndGet();
+            } else {
+                latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
+        }
+
+        void print(String mode, int connections, int durationSeconds) {
+            Histogram all = new Histogram(3);
+            long allErrors = 0;
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = latencies.get(operation);
+                long operationErrors = errors.get(operation).get();
+                if (histogram.getTotalCount() + operationErrors == 0) {
+                    continue;
+                }
+                all.add(histogram);
+                allErrors += operationErrors;
+                printRow(mode, connections, operation.name().toLowerCase(), histogram, operationErrors, durationSeconds);
+            }
+            printRow(mode, connections, "all", all, allErrors, durationSeconds);
+        }
+
+        private static void printRow(String mode, int connections, String operation, Histogram histogram,
+                                     long errors, int durationSeconds) {
+            System.out.printf("%-9s %11d %-7s %10d %8d %10.0f %8.1f %8.1f %8.1f %8.1f %9.1f%n",
+                    mode, connections, operation, histogram.getTotalCount(), errors,
+                    histogram.getTotalCount() / (double) durationSeconds,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getTotalCount() == 0 ? Double.NaN : histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    // Weighted choice between operations, e.g. "login:5,list:55,create:20,update:15,delete:5".
+    private record Mix(Operation[] operations, int[] cumulativeWeights, String spec) {
+
+        static Mix parse(String spec) {
+            String[] entries = spec.split(",");
+            Operation[] operations = new Operation[entries.length];
+            int[] cumulative = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] pair = entries[i].split(":", 2);
+                operations[i] = Operation.valueOf(pair[0].trim().toUpperCase());
+                total += pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 1;
+                cumulative[i] = total;
+            }
+            return new Mix(operations, cumulative, spec);
+        }
+
+        Operation pick() {
+            int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; ; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "(" + spec + ")";
+        }
+    }
+
+    private record Options(List<String> modes, List<Integer> connections, String scenario, Mix mix,
+                           int users, int tasks, int warmupSeconds, int durationSeconds) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>(Map.of(
+                    "modes", "platform,virtual",
+                    "connections", "1000,5000,10000",
+                    "scenario", "list",
+                    "mix", "login:5,list:55,create:20,update:15,delete:5",
+                    "users", "1",
+                    "tasks", "200",
+                    "warmup", "10",
+                    "duration", "30"));
+            for (String arg : args) {
+                String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+                if (pair.length != 2 || !values.containsKey(pair[0])) {
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+                values.put(pair[0], pair[1]);
+            }
+            String scenario = values.get("scenario");
+            Mix mix = switch (scenario) {
+                case "list", "login" -> Mix.parse(scenario);
+                case "mix" -> Mix.parse(values.get("mix"));
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            };
+            return new Options(
+                    List.of(values.get("modes").split(",")),
+                    Arrays.stream(values.get("connections").split(",")).map(Integer::valueOf).toList(),
+                    scenario,
+                    mix,
+                    Integer.parseInt(values.get("users")),
+                    Integer.parseInt(values.get("tasks")),
+                    Integer.parseInt(values.get("warmup")),
+                    Integer.parseInt(values.get("duration")));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskBatchService;
+import com.task.task_management.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time to insert 10k tasks: one createTask call (and transaction) per task, as the
+ * importers do through POST /tasks, against POST /tasks/batch sized chunks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskBatchInsertBenchmark {
+
+    private static final int TASK_COUNT = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskBatchService taskBatchService;
+    private TaskRepository taskRepository;
+    private Long userId;
+    private List<TaskRequest> requests;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("batch-insert-benchmark");
+        taskService = context.getBean(TaskService.class);
+        taskBatchService = context.getBean(TaskBatchService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+
+        User user = new User();
+        user.setName("Importer");
+        user.setEmail("importer@example.com");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        requests = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            requests.add(new TaskRequest("Imported " + i, "Row " + i + " of the import", null));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTasks() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleInserts() {
+        for (TaskRequest request : requests) {
+            taskService.createTask(request, userId);
+        }
+    }
+
+    @Benchmark
+    public void batchInserts() {
+        for (int from = 0; from < TASK_COUNT; from += BATCH_SIZE) {
+            taskBatchService.createTasks(requests.subList(from, from + BATCH_SIZE), userId);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.TaskFilter;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a filtered GET /tasks page for every filter/sort combination TaskQueryPlanner
+ * accepts, on a user with 100k tasks spread over the three statuses and a year of dates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskFilterBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "DONE"};
+
+    @Param({"none", "status", "created", "status+created", "title", "titlePrefix", "status+titlePrefix"})
+    private String filter;
+
+    @Param({"0", "100"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long userId;
+    private TaskFilter taskFilter;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("filter-benchmark");
+        taskService = context.getBean(TaskService.class);
+
+        User user = new User();
+        user.setName("Power User");
+        user.setEmail("power@example.com");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            rows.add(new Object[]{"Task " + Integer.toString(i * 7919 % TASK_COUNT, 36), STATUSES[i % 3],
+                    Timestamp.valueOf(start.plusMinutes(5L * i)), userId});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (title, status, created_at, user_id) values (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze");
+
+        LocalDateTime from = start.plusDays(90);
+        LocalDateTime to = start.plusDays(270);
+        taskFilter = switch (filter) {
+            case "none" -> TaskFilter.NONE;
+            case "status" -> TaskFilter.of("done", null, null, null, null, null);
+            case "created" -> TaskFilter.of(null, from, to, null, null, null);
+            case "status+created" -> TaskFilter.of("done", from, to, null, null, null);
+            case "title" -> TaskFilter.of(null, null, null, null, "title", null);
+            case "titlePrefix" -> TaskFilter.of(null, null, null, "Task 1a", "title", null);
+            case "status+titlePrefix" -> TaskFilter.of("done", null, null, "Task 1a", "title", null);
+            default -> throw new IllegalArgumentException(filter);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object filteredPage() {
+        return taskService.getUserTasks(userId, taskFilter, page, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,82 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskFileFormat;
+import com.task.task_management.service.TaskImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time of POST /tasks/import for a file of {@code rowCount} tasks, parsed and written
+ * in chunks by TaskImportService. Divide rowCount by the score for rows per second; compare
+ * with TaskBatchInsertBenchmark.singleInserts for the one-request-per-task path it replaces.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskImportBenchmark {
+
+    @Param({"100000"})
+    private int rowCount;
+
+    @Param({"NDJSON", "CSV"})
+    private TaskFileFormat format;
+
+    private ConfigurableApplicationContext context;
+    private TaskImportService taskImportService;
+    private TaskRepository taskRepository;
+    private Long userId;
+    private byte[] file;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("import-benchmark");
+        taskImportService = context.getBean(TaskImportService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+
+        User user = new User();
+        user.setName("Importer");
+        user.setEmail("importer@example.com");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        StringBuilder content = new StringBuilder(rowCount * 64);
+        if (format == TaskFileFormat.CSV) {
+            content.append("title,description,status\n");
+        }
+        for (int i = 0; i < rowCount; i++) {
+            if (format == TaskFileFormat.CSV) {
+                content.append("Imported ").append(i).append(",Row ").append(i).append(" of the import,pending\n");
+            } else {
+                content.append("{\"title\":\"Imported ").append(i)
+                        .append("\",\"description\":\"Row ").append(i).append(" of the import\",\"status\":\"pending\"}\n");
+            }
+        }
+        file = content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTasks() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object importFile() throws IOException {
+        return taskImportService.importTasks(userId, format, new ByteArrayInputStream(file));
+    }
+}
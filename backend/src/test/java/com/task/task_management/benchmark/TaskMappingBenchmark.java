@@ -0,0 +1,91 @@
+package com.task.task_management.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
+import com.task.task_management.entity.Task;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-task CPU work on every list and write: entity to DTO mapping, status parsing and
+ * serializing a page of GET /tasks (full and summary view) to JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Task task;
+    private Page<TaskResponse> page;
+    private Page<TaskSummaryResponse> summaryPage;
+
+    @Setup
+    public void setUp() {
+        // Configured like the application's mapper (Spring Boot turns date timestamps off).
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        User user = new User();
+        user.setId(1L);
+        task = new Task();
+        task.setId(1L);
+        task.setTitle("Prepare the quarterly report");
+        task.setDescription("Collect the numbers from every team and draft the summary");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUser(user);
+
+        List<TaskResponse> tasks = new ArrayList<>(pageSize);
+        List<TaskSummaryResponse> summaries = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            TaskResponse response = new TaskResponse(id, "Task " + id, "Description of task " + id,
+                    TaskStatus.PENDING, LocalDateTime.now(), 1L);
+            tasks.add(response);
+            summaries.add(new TaskSummaryResponse(id, response.getTitle(), TaskStatus.PENDING,
+                    response.getCreatedAt(), 1L));
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000);
+        summaryPage = new PageImpl<>(summaries, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public TaskResponse mapToResponse() {
+        return TaskResponse.from(task);
+    }
+
+    @Benchmark
+    public TaskStatus parseStatus() {
+        return TaskStatus.from("in_progress");
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+}
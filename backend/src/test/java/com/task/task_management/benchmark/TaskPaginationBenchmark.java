@@ -0,0 +1,83 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskCursor;
+import com.task.task_management.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of GET /tasks at increasing page depth for a user with 100k tasks:
+ * OFFSET paging (plus its COUNT) against keyset paging from a cursor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPaginationBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "100", "1000", "4999"})
+    private int pageDepth;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long userId;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("pagination-benchmark");
+        taskService = context.getBean(TaskService.class);
+
+        User user = new User();
+        user.setName("Power User");
+        user.setEmail("power@example.com");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            rows.add(new Object[]{"Task " + i, "PENDING", Timestamp.valueOf(start.plusMinutes(i)), userId});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (title, status, created_at, user_id) values (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("analyze");
+
+        cursor = "";
+        if (pageDepth > 0) {
+            List<TaskResponse> previousPage = taskService.getUserTasks(userId, pageDepth - 1, PAGE_SIZE).getContent();
+            TaskResponse last = previousPage.get(previousPage.size() - 1);
+            cursor = new TaskCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offsetPage() {
+        return taskService.getUserTasks(userId, pageDepth, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object cursorPage() {
+        return taskService.getUserTasksAfter(userId, cursor, PAGE_SIZE);
+    }
+}
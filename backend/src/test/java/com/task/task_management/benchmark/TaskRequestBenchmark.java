@@ -0,0 +1,84 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.dto.AuthResponse;
+import com.task.task_management.dto.RegisterRequest;
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.service.AuthService;
+import com.task.task_management.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * A whole request on H2 through MockMvc: the security filter chain (JwtAuthenticationFilter
+ * included), dispatch, the service and its queries, and JSON serialization. The gap to
+ * {@link JwtAuthenticationFilterBenchmark} and {@link TaskMappingBenchmark} is the framework
+ * and database share.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskRequestBenchmark {
+
+    private static final int TASK_COUNT = 100;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String authHeader;
+    private long taskId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("request-benchmark");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+
+        RegisterRequest register = new RegisterRequest();
+        register.setName("John Doe");
+        register.setEmail("john@example.com");
+        register.setPassword("password123");
+        AuthResponse auth = context.getBean(AuthService.class).register(register);
+        authHeader = "Bearer " + auth.getToken();
+
+        TaskService taskService = context.getBean(TaskService.class);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            taskId = taskService.createTask(new TaskRequest("Task " + i, "Description " + i, TaskStatus.PENDING),
+                    auth.getId()).getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTask() throws Exception {
+        return mockMvc.perform(get("/tasks/" + taskId).header("Authorization", authHeader))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int getTaskPage() throws Exception {
+        return mockMvc.perform(get("/tasks").param("size", "20").header("Authorization", authHeader))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int rejectedWithoutToken() throws Exception {
+        return mockMvc.perform(get("/tasks/" + taskId))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,109 @@
+package com.task.task_management.benchmark;
+
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskSearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of GET /tasks/search against the LIKE '%q%' query it replaces, for one user
+ * owning {@code taskCount} tasks with generated titles and descriptions.
+ * Run with {@code -Dbenchmark="TaskSearchBenchmark -p taskCount=1000000"} for the 1M case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[] WORDS = {"deploy", "release", "invoice", "meeting", "review", "budget",
+            "customer", "migration", "backup", "report", "design", "hiring", "travel", "refactor", "payroll"};
+    private static final String LIKE_PAGE = """
+            select t.id, t.title, t.description, t.status, t.created_at, t.user_id
+            from tasks t
+            where t.user_id = ? and (lower(t.title) like ? or lower(t.description) like ?)
+            order by t.created_at desc, t.id desc
+            fetch first ? rows only
+            """;
+
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"migration", "budg"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private TaskSearchService taskSearchService;
+    private JdbcTemplate jdbcTemplate;
+    private Long userId;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start("search-benchmark");
+        taskSearchService = context.getBean(TaskSearchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        User user = new User();
+        user.setName("Power User");
+        user.setEmail("power@example.com");
+        user.setPassword("unused");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < taskCount; i++) {
+            rows.add(new Object[]{sentence(random, 4), sentence(random, 40), "PENDING",
+                    Timestamp.valueOf(start.plusSeconds(i)), userId});
+            if (rows.size() == 10_000 || i == taskCount - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into tasks (title, description, status, created_at, user_id) values (?, ?, ?, ?, ?)",
+                        rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.execute("analyze");
+        taskSearchService.rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object lucene() {
+        return taskSearchService.search(userId, query, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object like() {
+        String pattern = "%" + query + "%";
+        return jdbcTemplate.queryForList(LIKE_PAGE, userId, pattern, pattern, PAGE_SIZE);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(random.nextInt(40) == 0 ? WORDS[random.nextInt(WORDS.length)]
+                    : Integer.toString(random.nextInt(1_000_000), 36));
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.task.task_management.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountFilterTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @QueryBudget(2)
+    void budgetOfTwo() {
+    }
+
+    @QueryBudget(value = 2, perBatch = 1)
+    void budgetOfTwoPlusOnePerBatch() {
+    }
+
+    @Test
+    void doFilter_WithinBudget_SendsCountHeader() throws Exception {
+        // Arrange
+        QueryCountFilter filter = new QueryCountFilter(counter, true, 10, true, 50);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(), response, statements(3));
+
+        // Assert
+        assertEquals("3", response.getHeader(QueryCountFilter.HEADER));
+        assertEquals(0, counter.current());
+    }
+
+    @Test
+    void doFilter_OverDeclaredBudget_FailsWhenConfigured() throws Exception {
+        // Arrange
+        QueryCountFilter filter = new QueryCountFilter(counter, false, 10, true, 50);
+        MockHttpServletRequest request = request();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, getClass().getDeclaredMethod("budgetOfTwo")));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tasks/{id}");
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), statements(3)));
+
+        // Assert
+        assertEquals("GET /tasks/{id} ran 3 SQL statements, over its budget of 2", exception.getMessage());
+    }
+
+    @Test
+    void doFilter_OverDefaultBudget_OnlyLogsByDefault() throws Exception {
+        // Arrange
+        QueryCountFilter filter = new QueryCountFilter(counter, false, 1, false, 50);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request(), response, statements(3));
+
+        // Assert
+        assertNull(response.getHeader(QueryCountFilter.HEADER));
+    }
+
+    @Test
+    void doFilter_BatchOfItems_AddsPerBatchStatementsToBudget() throws Exception {
+        // Arrange: 101 items are three JDBC batches of 50, so the budget is 2 + 3
+        QueryCountFilter filter = new QueryCountFilter(counter, false, 10, true, 50);
+        MockHttpServletRequest request = request();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, getClass().getDeclaredMethod("budgetOfTwoPlusOnePerBatch")));
+        FilterChain handler = (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                QueryCountFilter.countItems(101);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+            statements(6).doFilter(req, res);
+        };
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), handler));
+
+        // Assert
+        assertEquals("GET /tasks/1 ran 6 SQL statements, over its budget of 5", exception.getMessage());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/tasks/1");
+    }
+
+    // Stands in for Hibernate preparing statements while the request is handled.
+    private FilterChain statements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                counter.inspect("select 1");
+            }
+        };
+    }
+}
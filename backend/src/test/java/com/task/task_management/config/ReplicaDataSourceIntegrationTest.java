@@ -0,0 +1,134 @@
+package com.task.task_management.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_management.dto.RegisterRequest;
+import com.task.task_management.dto.TaskRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two H2 databases; nothing copies rows from the primary to the "replica", so each test
+// replicates by hand and can tell from the titles which database a read went to.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaDataSourceIntegrationTest.PRIMARY_URL,
+        "tasks.datasource.replica-urls=" + ReplicaDataSourceIntegrationTest.REPLICA_URL,
+        "tasks.datasource.sticky-window=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaDataSourceIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @Test
+    void getTasks_ReadsReplicaUntilUserWrites() throws Exception {
+        // Arrange
+        String authHeader = register("reader@example.com");
+        long userId = primary.queryForObject("select id from users where email = ?", Long.class, "reader@example.com");
+        double replicaReads = connections("replica-1", "read");
+        double stickyReads = connections("primary", "sticky");
+
+        // Act: the replica has not caught up with the registration yet
+        List<String> beforeReplication = titles(authHeader);
+
+        replicate(userId);
+        insertTask(primary, 1001L, "Only on primary", userId);
+        insertTask(replica, 1002L, "Only on replica", userId);
+        List<String> afterReplication = titles(authHeader);
+
+        mockMvc.perform(post("/tasks")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequest("Written", null, null))))
+                .andExpect(status().isCreated());
+        List<String> afterWrite = titles(authHeader);
+
+        // Assert
+        assertEquals(List.of(), beforeReplication);
+        assertEquals(List.of("Only on replica"), afterReplication);
+        assertEquals(List.of("Written", "Only on primary"), afterWrite);
+        assertTrue(connections("replica-1", "read") >= replicaReads + 2);
+        assertTrue(connections("primary", "sticky") > stickyReads);
+    }
+
+    private String register(String email) throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setName("Reader");
+        request.setEmail(email);
+        request.setPassword("password123");
+        String body = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+
+    private List<String> titles(String authHeader) throws Exception {
+        String body = mockMvc.perform(get("/tasks").header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> titles = new ArrayList<>();
+        for (JsonNode task : objectMapper.readTree(body).get("content")) {
+            titles.add(task.get("title").asText());
+        }
+        return titles;
+    }
+
+    private void replicate(long userId) {
+        Map<String, Object> user = primary.queryForMap("select * from users where id = ?", userId);
+        replica.update("insert into users (id, name, email, password, created_at) values (?, ?, ?, ?, ?)",
+                user.get("id"), user.get("name"), user.get("email"), user.get("password"), user.get("created_at"));
+        replica.update("insert into task_list_versions (user_id, version) values (?, 0)", userId);
+    }
+
+    private static void insertTask(JdbcTemplate database, long id, String title, long userId) {
+        database.update("insert into tasks (id, title, status, created_at, user_id) values (?, ?, 'PENDING', "
+                + "current_timestamp, ?)", id, title, userId);
+    }
+
+    private double connections(String pool, String reason) {
+        return meterRegistry.get(ReplicaRoutingDataSource.METRIC).tag("pool", pool).tag("reason", reason)
+                .counter().count();
+    }
+}
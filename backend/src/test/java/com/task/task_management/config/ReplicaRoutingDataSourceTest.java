@@ -0,0 +1,123 @@
+package com.task.task_management.config;
+
+import com.task.task_management.security.UserPrincipal;
+import com.task.task_management.service.TaskChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaRoutingDataSource routing() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica1.getConnection()).thenReturn(replica1Connection);
+        lenient().when(replica2.getConnection()).thenReturn(replica2Connection);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        return new ReplicaRoutingDataSource("primary", primary, replicas, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_AlternatesBetweenReplicas() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing();
+
+        // Act
+        List<Connection> connections = List.of(routing.getConnection(), routing.getConnection(), routing.getConnection());
+
+        // Assert
+        assertEquals(List.of(replica1Connection, replica2Connection, replica1Connection), connections);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaFails_SkipsItAndFallsBackToPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing();
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection is not available"));
+        when(replica2.getConnection()).thenThrow(new SQLException("Connection is not available"));
+
+        // Act
+        Connection first = routing.getConnection();
+        Connection second = routing.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, first);
+        assertSame(primaryConnection, second);
+        // Both replicas were marked down by the first call and not tried again.
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+        assertEquals(2, meterRegistry.get(ReplicaRoutingDataSource.METRIC)
+                .tag("pool", "primary").tag("reason", "fallback").counter().count());
+    }
+
+    @Test
+    void getConnection_AfterUsersOwnWrite_UsesPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing();
+        UserPrincipal principal = new UserPrincipal(7L, "Writer", "writer@example.com", "hash");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        routing.onTaskChanged(new TaskChangedEvent(8L, TaskChangedEvent.Type.CREATED, 1L, null));
+        Connection otherUsersWrite = routing.getConnection();
+
+        // Act
+        routing.onTaskChanged(new TaskChangedEvent(7L, TaskChangedEvent.Type.CREATED, 2L, null));
+        Connection ownWrite = routing.getConnection();
+
+        // Assert
+        assertSame(replica1Connection, otherUsersWrite);
+        assertSame(primaryConnection, ownWrite);
+    }
+
+    @Test
+    void getConnectionWithCredentials_PassesThemToChosenDataSource() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing();
+        when(replica1.getConnection("reporting", "secret")).thenReturn(replica1Connection);
+        when(replica2.getConnection("reporting", "secret")).thenThrow(new SQLException("Access denied"));
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryConnection);
+
+        // Act: replica-2 is tried first the second time, fails and is skipped
+        Connection first = routing.getConnection("reporting", "secret");
+        Connection second = routing.getConnection("reporting", "secret");
+        Connection third = routing.getConnection("reporting", "secret");
+        when(replica1.getConnection("reporting", "secret")).thenThrow(new SQLException("Access denied"));
+        Connection fourth = routing.getConnection("reporting", "secret");
+
+        // Assert
+        assertEquals(List.of(replica1Connection, replica1Connection, replica1Connection, primaryConnection),
+                List.of(first, second, third, fourth));
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+        verify(primary, never()).getConnection();
+    }
+}
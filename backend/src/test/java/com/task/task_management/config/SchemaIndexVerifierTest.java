@@ -0,0 +1,57 @@
+package com.task.task_management.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SchemaIndexVerifier.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaIndexVerifierTest {
+
+    @Autowired
+    private SchemaIndexVerifier verifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restoreIndex() {
+        jdbcTemplate.execute("drop index if exists idx_tasks_user_created_id");
+        jdbcTemplate.execute("create index idx_tasks_user_created_id on tasks (user_id, created_at desc, id desc)");
+    }
+
+    @Test
+    void verify_MigratedSchema_Passes() {
+        // Act & Assert
+        assertDoesNotThrow(() -> verifier.verify());
+    }
+
+    @Test
+    void verify_MissingIndex_Throws() {
+        // Arrange
+        jdbcTemplate.execute("drop index idx_tasks_user_created_id");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> verifier.verify());
+        assertTrue(exception.getMessage().contains("tasks.idx_tasks_user_created_id is missing"));
+    }
+
+    @Test
+    void verify_IndexWithDifferentColumns_Throws() {
+        // Arrange
+        jdbcTemplate.execute("drop index idx_tasks_user_created_id");
+        jdbcTemplate.execute("create index idx_tasks_user_created_id on tasks (user_id, created_at)");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> verifier.verify());
+        assertTrue(exception.getMessage().contains("expected [user_id, created_at, id]"));
+    }
+}
@@ -3,6 +3,7 @@ package com.task.task_management.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.task.task_management.dto.LoginRequest;
 import com.task.task_management.dto.RegisterRequest;
+import com.task.task_management.entity.User;
 import com.task.task_management.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,10 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -137,6 +140,34 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("John Doe"));
     }
 
+    @Test
+    void login_HashWithOldCost_RehashedWithConfiguredCost() throws Exception {
+        // Arrange - stored before the BCrypt cost was raised
+        User user = new User();
+        user.setName("Legacy User");
+        user.setEmail("legacy@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("legacy@example.com");
+        loginRequest.setPassword("password123");
+
+        // Act
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        // Assert
+        String storedHash = userRepository.findByEmail("legacy@example.com").orElseThrow().getPassword();
+        assertTrue(storedHash.startsWith("$2a$10$"), storedHash);
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void login_InvalidPassword_ReturnsBadRequest() throws Exception {
         // Arrange - Register user first
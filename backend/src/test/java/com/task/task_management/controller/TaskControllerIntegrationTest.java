@@ -0,0 +1,945 @@
+package com.task.task_management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_management.dto.RegisterRequest;
+import com.task.task_management.dto.TaskBatchUpdateRequest;
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.service.TaskStatsService;
+import com.task.task_management.service.TaskSyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class TaskControllerIntegrationTest {
+
+    private static final String ACTUATOR_PASSWORD = "test-actuator-secret";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String authHeader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setName("John Doe");
+        registerRequest.setEmail("john@example.com");
+        registerRequest.setPassword("password123");
+
+        String body = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        authHeader = "Bearer " + objectMapper.readTree(body).get("token").asText();
+    }
+
+    @Test
+    void getTasks_CursorMode_WalksAllPagesWithoutDuplicates() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            createTask("Task " + i);
+        }
+
+        // Act
+        List<String> titles = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            String body = mockMvc.perform(get("/tasks")
+                            .header("Authorization", authHeader)
+                            .param("cursor", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(task -> titles.add(task.get("title").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        }
+
+        // Assert
+        assertEquals(3, pages);
+        assertEquals(List.of("Task 4", "Task 3", "Task 2", "Task 1", "Task 0"), titles);
+    }
+
+    @Test
+    void getTasks_OffsetMode_StillReturnsPageMetadata() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            createTask("Task " + i);
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("page", "0")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Task 2"));
+    }
+
+    @Test
+    void getTasks_SummaryView_OmitsDescription() throws Exception {
+        // Arrange
+        createTask("Task 0");
+
+        // Act & Assert
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Task 0"))
+                .andExpect(jsonPath("$.content[0].status").value("pending"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("view", "summary")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getTasks_UnknownView_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("View must be one of: full, summary"));
+    }
+
+    @Test
+    void getTasks_InvalidCursor_ReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    void getTasks_SizeAboveMaximum_ClampsPagesAndRejectsCursors() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(100));
+        mockMvc.perform(get("/tasks")
+                        .header("Authorization", authHeader)
+                        .param("cursor", "")
+                        .param("size", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Page size must not be greater than 100"));
+    }
+
+    @Test
+    void batchEndpoints_CreateUpdateDelete_ReportPerItemResults() throws Exception {
+        // Arrange
+        List<TaskRequest> creates = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            creates.add(new TaskRequest("Bulk " + i, null, null));
+        }
+        creates.add(new TaskRequest("", null, null));
+
+        // Act
+        String created = mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(creates)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(120))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[120].error").value("Title is required"))
+                .andReturn().getResponse().getContentAsString();
+        long firstId = objectMapper.readTree(created).get("results").get(0).get("id").asLong();
+        long secondId = objectMapper.readTree(created).get("results").get(1).get("id").asLong();
+
+        mockMvc.perform(patch("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + firstId + ",\"status\":\"done\"},{\"id\":999999,\"title\":\"x\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Task not found"));
+
+        mockMvc.perform(delete("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + secondId + ", 999999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1));
+
+        // Assert
+        assertEquals(119, taskRepository.count());
+        mockMvc.perform(get("/tasks/" + firstId).header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("done"));
+    }
+
+    @Test
+    void batchEndpoints_AllStatuses_StayWithinSizeDependentQueryBudget() throws Exception {
+        // Arrange: the test profile fails requests over their query budget. Every batch spans
+        // all three statuses; the bounds are the endpoints' budgets at hibernate.jdbc.batch_size=50.
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int size : new int[]{3, 300}) {
+            int batches = (int) Math.ceil(size / 50.0);
+            List<TaskRequest> creates = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                creates.add(new TaskRequest("Bulk " + i, null, statuses[i % statuses.length]));
+            }
+
+            // Act
+            MockHttpServletResponse created = mockMvc.perform(post("/tasks/batch")
+                            .header("Authorization", authHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(creates)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(size))
+                    .andReturn().getResponse();
+            List<Long> ids = new ArrayList<>();
+            objectMapper.readTree(created.getContentAsString()).get("results")
+                    .forEach(result -> ids.add(result.get("id").asLong()));
+            // Every task is marked done, so all three counts change; every other one is also renamed.
+            List<TaskBatchUpdateRequest> updates = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                updates.add(new TaskBatchUpdateRequest(ids.get(i), i % 2 == 0 ? "Renamed " + i : null, null,
+                        TaskStatus.DONE));
+            }
+            MockHttpServletResponse updated = mockMvc.perform(patch("/tasks/batch")
+                            .header("Authorization", authHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updates)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(size))
+                    .andReturn().getResponse();
+            mockMvc.perform(get("/tasks/stats").header("Authorization", authHeader))
+                    .andExpect(jsonPath("$.pending").value(0))
+                    .andExpect(jsonPath("$.inProgress").value(0))
+                    .andExpect(jsonPath("$.done").value(size));
+            MockHttpServletResponse deleted = mockMvc.perform(delete("/tasks/batch")
+                            .header("Authorization", authHeader)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(ids)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(size))
+                    .andReturn().getResponse();
+
+            // Assert
+            assertTrue(Integer.parseInt(created.getHeader("X-Query-Count")) <= 3 + batches);
+            assertTrue(Integer.parseInt(updated.getHeader("X-Query-Count")) <= 4 + batches);
+            assertTrue(Integer.parseInt(deleted.getHeader("X-Query-Count")) <= 5);
+            mockMvc.perform(get("/tasks/stats").header("Authorization", authHeader))
+                    .andExpect(jsonPath("$.total").value(0));
+        }
+    }
+
+    @Test
+    void updateTasksBatch_NullItem_ReportsItAndUpdatesTheRest() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+
+        // Act & Assert
+        mockMvc.perform(patch("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null,{\"id\":" + id + ",\"status\":\"done\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].error").value("Item is required"));
+        mockMvc.perform(patch("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("null"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTask_AfterBatch_GetsUniqueId() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new TaskRequest("Bulk", null, null)))))
+                .andExpect(status().isOk());
+
+        // Act
+        createTask("Single");
+
+        // Assert
+        assertEquals(2, taskRepository.findAll().stream().map(task -> task.getId()).distinct().count());
+    }
+
+    @Test
+    void updateTaskStatus_OwnTask_UpdatesInPlace() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+
+        // Act
+        mockMvc.perform(patch("/tasks/" + id + "/status")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"in_progress\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Query-Count", "3"))
+                .andExpect(jsonPath("$.status").value("in_progress"));
+
+        // Assert
+        mockMvc.perform(get("/tasks/" + id).header("Authorization", authHeader))
+                .andExpect(jsonPath("$.status").value("in_progress"))
+                .andExpect(jsonPath("$.description").value("Description"));
+    }
+
+    @Test
+    void updateTaskStatus_RespondAsync_AcceptsAndAppliesInBackground() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+
+        // Act
+        String body = mockMvc.perform(patch("/tasks/" + id + "/status")
+                        .header("Authorization", authHeader)
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"done\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andReturn().getResponse().getContentAsString();
+        long operationId = objectMapper.readTree(body).get("operationId").asLong();
+
+        // Assert
+        mockMvc.perform(get("/tasks/" + id).header("Authorization", authHeader))
+                .andExpect(jsonPath("$.status").value("done"));
+        String state = "pending";
+        for (int i = 0; i < 100 && state.equals("pending"); i++) {
+            Thread.sleep(100);
+            state = objectMapper.readTree(mockMvc.perform(get("/tasks/operations/" + operationId)
+                            .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("state").asText();
+        }
+        assertEquals("applied", state);
+        assertEquals(TaskStatus.DONE, taskRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void updateTasksBatch_AfterRespondAsync_IsNotOverwrittenByPendingStatus() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+        String body = mockMvc.perform(patch("/tasks/" + id + "/status")
+                        .header("Authorization", authHeader)
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"done\"}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        long operationId = objectMapper.readTree(body).get("operationId").asLong();
+
+        // Act
+        mockMvc.perform(patch("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + id + ",\"status\":\"in_progress\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1));
+
+        // Assert
+        mockMvc.perform(get("/tasks/operations/" + operationId).header("Authorization", authHeader))
+                .andExpect(jsonPath("$.state").value("applied"));
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void getTasks_RecordsServiceAndTokenTimers() throws Exception {
+        // Arrange
+        Timer serviceTimer = meterRegistry.timer("tasks.service", "class", "com.task.task_management.service.TaskService",
+                "method", "getTaskListTag", "exception", "none");
+        long servicesBefore = serviceTimer.count();
+        long tokensBefore = meterRegistry.get("auth.jwt.filter").tag("result", "authenticated").timer().count();
+
+        // Act
+        mockMvc.perform(get("/tasks").header("Authorization", authHeader))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(servicesBefore + 1, serviceTimer.count());
+        assertEquals(tokensBefore + 1, meterRegistry.get("auth.jwt.filter").tag("result", "authenticated").timer().count());
+    }
+
+    @Test
+    void actuator_UserBearerToken_IsRejectedAndCachesAreNotExposed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", authHeader))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/caches").header("Authorization", authHeader))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("actuator", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("actuator", ACTUATOR_PASSWORD)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void actuator_ScraperWithoutBearerToken_ReadsPrometheusAndHealth() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/tasks").header("Authorization", authHeader))
+                .andExpect(status().isOk());
+
+        // Act
+        String scrape = mockMvc.perform(get("/actuator/prometheus")
+                        .with(httpBasic("actuator", ACTUATOR_PASSWORD))
+                        .accept(MediaType.parseMediaType("text/plain;version=0.0.4")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(scrape.contains("tasks_service_seconds_count{"), scrape);
+        assertTrue(scrape.contains("auth_jwt_filter_seconds_bucket{"), scrape);
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components").doesNotExist());
+    }
+
+    @Test
+    void updateAndDelete_OtherUsersTask_ReturnsNotFoundError() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+        RegisterRequest other = new RegisterRequest();
+        other.setName("Jane Doe");
+        other.setEmail("jane@example.com");
+        other.setPassword("password123");
+        String body = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(other)))
+                .andReturn().getResponse().getContentAsString();
+        String otherAuthHeader = "Bearer " + objectMapper.readTree(body).get("token").asText();
+
+        // Act & Assert
+        mockMvc.perform(patch("/tasks/" + id + "/status")
+                        .header("Authorization", otherAuthHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"done\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Task not found"));
+        mockMvc.perform(delete("/tasks/" + id).header("Authorization", otherAuthHeader))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Task not found"));
+        mockMvc.perform(get("/tasks/" + id).header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("pending"));
+    }
+
+    @Test
+    void updateTask_PartialBody_KeepsOtherFields() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+
+        // Act & Assert
+        mockMvc.perform(put("/tasks/" + id)
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andExpect(jsonPath("$.description").value("Description"))
+                .andExpect(jsonPath("$.status").value("pending"));
+    }
+
+    @Test
+    void getTasks_IfNoneMatch_ReturnsNotModifiedUntilAWrite() throws Exception {
+        // Arrange
+        long id = createTask("Task 0");
+        String listEtag = mockMvc.perform(get("/tasks").header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        String taskEtag = mockMvc.perform(get("/tasks/" + id).header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/tasks").header("Authorization", authHeader).header("If-None-Match", listEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", listEtag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/tasks/" + id).header("Authorization", authHeader).header("If-None-Match", taskEtag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/tasks/" + id + "/status")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"done\"}"))
+                .andExpect(status().isOk());
+
+        String newListEtag = mockMvc.perform(get("/tasks").header("Authorization", authHeader).header("If-None-Match", listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].status").value("done"))
+                .andReturn().getResponse().getHeader("ETag");
+        String newTaskEtag = mockMvc.perform(get("/tasks/" + id).header("Authorization", authHeader).header("If-None-Match", taskEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("done"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(listEtag, newListEtag);
+        assertNotEquals(taskEtag, newTaskEtag);
+    }
+
+    @Test
+    void getTasks_BatchWrite_ChangesListEtag() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/tasks").header("Authorization", authHeader))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new TaskRequest("Bulk", null, null)))))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/tasks").header("Authorization", authHeader).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Bulk"));
+    }
+
+    @Test
+    void streamTasks_PushesChangesAndResumesFromLastEventId() throws Exception {
+        // Arrange
+        MvcResult stream = mockMvc.perform(get("/tasks/stream").header("Authorization", authHeader))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        long first = createTask("First");
+        long second = createTask("Second");
+        mockMvc.perform(delete("/tasks/" + first).header("Authorization", authHeader))
+                .andExpect(status().isOk());
+
+        // Assert
+        String events = awaitEvents(stream, 3);
+        assertTrue(events.contains("event:task-created\ndata:{\"id\":" + first));
+        assertTrue(events.contains("event:task-deleted\ndata:{\"id\":" + first + "}"));
+        String firstEventId = eventIds(events).get(0);
+
+        MvcResult resumed = mockMvc.perform(get("/tasks/stream")
+                        .header("Authorization", authHeader)
+                        .header("Last-Event-ID", firstEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replayed = awaitEvents(resumed, 2);
+        assertFalse(replayed.contains("\"title\":\"First\""));
+        assertTrue(replayed.contains("data:{\"id\":" + second));
+
+        MvcResult expired = mockMvc.perform(get("/tasks/stream")
+                        .header("Authorization", authHeader)
+                        .header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(awaitEvents(expired, 1).contains("event:reset"));
+    }
+
+    @Test
+    void getTasks_FilteredAndSorted_UsesPlannerAndRejectsUnindexedCombinations() throws Exception {
+        // Arrange
+        long report = createTask("Report");
+        long review = createTask("Review");
+        createTask("Groceries");
+        mockMvc.perform(patch("/tasks/" + review + "/status")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"done\"}"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/tasks").param("status", "done").header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(review));
+
+        mockMvc.perform(get("/tasks").param("titlePrefix", "Re").param("sort", "title")
+                        .param("view", "summary").header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(report))
+                .andExpect(jsonPath("$.content[1].id").value(review));
+
+        mockMvc.perform(get("/tasks").param("titlePrefix", "Re").header("Authorization", authHeader))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Filtering by titlePrefix requires sort=title"));
+    }
+
+    @Test
+    void getTaskChanges_ReturnsChangesAndDeletionsSinceWatermark() throws Exception {
+        // Arrange
+        long kept = createTask("Kept");
+        long removed = createTask("Removed");
+        long since = changes(0).get("watermark").asLong();
+
+        // Act
+        long added = createTask("Added");
+        mockMvc.perform(patch("/tasks/" + kept + "/status")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"done\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/" + removed).header("Authorization", authHeader))
+                .andExpect(status().isOk());
+        JsonNode delta = changes(since);
+
+        // Assert
+        assertFalse(delta.get("reset").asBoolean());
+        assertEquals(since + 3, delta.get("watermark").asLong());
+        assertEquals(2, delta.get("changed").size());
+        assertEquals(added, delta.get("changed").get(0).get("id").asLong());
+        assertEquals(kept, delta.get("changed").get(1).get("id").asLong());
+        assertEquals("done", delta.get("changed").get(1).get("status").asText());
+        assertEquals(1, delta.get("deleted").size());
+        assertEquals(removed, delta.get("deleted").get(0).asLong());
+
+        JsonNode caughtUp = changes(delta.get("watermark").asLong());
+        assertEquals(0, caughtUp.get("changed").size());
+        assertEquals(0, caughtUp.get("deleted").size());
+        assertTrue(changes(since + 100).get("reset").asBoolean());
+    }
+
+    @Test
+    void getTaskChanges_FromZero_IncludesRowsBackfilledByMigration() throws Exception {
+        // Arrange: a row as written before delta sync, with the column's default version,
+        // then the V8 backfill that stamps such rows
+        long created = createTask("Created");
+        long userId = userRepository.findByEmail("john@example.com").orElseThrow().getId();
+        jdbcTemplate.update("insert into tasks (id, title, status, created_at, user_id) values (?, ?, 'PENDING', "
+                + "current_timestamp, ?)", 900001L, "Legacy", userId);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__task_list_version_backfill.sql"))
+                .execute(jdbcTemplate.getDataSource());
+
+        // Act
+        JsonNode delta = changes(0);
+
+        // Assert
+        assertFalse(delta.get("reset").asBoolean());
+        List<Long> changed = new ArrayList<>();
+        delta.get("changed").forEach(task -> changed.add(task.get("id").asLong()));
+        assertEquals(List.of(created, 900001L), changed);
+    }
+
+    @Test
+    void getTaskChanges_AfterTombstonePurge_OldWatermarkResets() throws Exception {
+        // Arrange
+        long since = changes(0).get("watermark").asLong();
+        long removed = createTask("Removed");
+        mockMvc.perform(delete("/tasks/" + removed).header("Authorization", authHeader))
+                .andExpect(status().isOk());
+        jdbcTemplate.update("update task_tombstones set deleted_at = ? where task_id = ?",
+                LocalDateTime.now().minusDays(365), removed);
+
+        // Act
+        taskSyncService.purgeTombstones();
+
+        // Assert
+        JsonNode delta = changes(since);
+        assertTrue(delta.get("reset").asBoolean());
+        assertEquals(0, delta.get("deleted").size());
+        assertFalse(changes(delta.get("watermark").asLong()).get("reset").asBoolean());
+    }
+
+    @Test
+    void searchTasks_RanksPrefixMatchesAndPagesWithCursor() throws Exception {
+        // Arrange
+        long titleMatch = createTask("Deploy the release", "Checklist");
+        long descriptionMatch = createTask("Friday", "Deployment window for the release");
+        createTask("Groceries", "Milk and eggs");
+        long removed = createTask("Deploy staging", "Old");
+        mockMvc.perform(delete("/tasks/" + removed).header("Authorization", authHeader))
+                .andExpect(status().isOk());
+
+        // Act
+        JsonNode first = search("deplo", null, 1);
+        JsonNode second = search("deplo", first.get("nextCursor").asText(), 1);
+
+        // Assert
+        assertEquals(titleMatch, first.get("content").get(0).get("id").asLong());
+        assertTrue(first.get("hasNext").asBoolean());
+        assertEquals(descriptionMatch, second.get("content").get(0).get("id").asLong());
+        assertFalse(second.get("hasNext").asBoolean());
+        assertEquals(1, search("release window", null, 10).get("content").size());
+        assertEquals(0, search("milk deploy", null, 10).get("content").size());
+        mockMvc.perform(get("/tasks/search").param("q", "  ").header("Authorization", authHeader))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchTasks_WritesBetweenPages_KeepCursorRankingStable() throws Exception {
+        // Arrange
+        List<Long> releases = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            releases.add(createTask("Release " + i));
+        }
+        JsonNode first = search("release", null, 2);
+
+        // Act: longer titles shift the index statistics every score depends on
+        for (int i = 0; i < 10; i++) {
+            createTask("Sort the garage shelves and label every box " + i);
+        }
+        createTask("Release notes");
+        JsonNode second = search("release", first.get("nextCursor").asText(), 2);
+
+        // Assert
+        List<Long> found = new ArrayList<>();
+        first.get("content").forEach(task -> found.add(task.get("id").asLong()));
+        second.get("content").forEach(task -> found.add(task.get("id").asLong()));
+        assertEquals(releases.stream().sorted().toList(), found.stream().sorted().toList());
+        assertFalse(second.get("hasNext").asBoolean());
+        assertEquals(5, search("release", null, 10).get("content").size());
+    }
+
+    @Test
+    void getTaskStats_FollowsWritesAndReconcileFixesDrift() throws Exception {
+        // Arrange
+        long started = createTask("Started");
+        long removed = createTask("Removed");
+        createTask("Waiting");
+        mockMvc.perform(patch("/tasks/" + started + "/status")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"in_progress\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/tasks/" + started + "/status")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"in_progress\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/" + removed).header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Query-Count", "4"));
+        mockMvc.perform(post("/tasks/batch")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new TaskRequest("Done 1", null, TaskStatus.DONE),
+                                new TaskRequest("Done 2", null, TaskStatus.DONE)))))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/tasks/stats").header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pending").value(1))
+                .andExpect(jsonPath("$.inProgress").value(1))
+                .andExpect(jsonPath("$.done").value(2))
+                .andExpect(jsonPath("$.total").value(4));
+
+        jdbcTemplate.update("update tasks set status = 'DONE' where id = ?", started);
+        taskStatsService.reconcileAll();
+
+        mockMvc.perform(get("/tasks/stats").header("Authorization", authHeader))
+                .andExpect(jsonPath("$.inProgress").value(0))
+                .andExpect(jsonPath("$.done").value(3))
+                .andExpect(jsonPath("$.total").value(4));
+    }
+
+    @Test
+    void exportTasks_StreamsNdjsonAndCsvNewestFirst() throws Exception {
+        // Arrange
+        long plain = createTask("Plain", "Nothing special");
+        long quoted = createTask("Say \"hi\", then leave", "Line one\nLine two");
+
+        // Act
+        String ndjson = export("ndjson");
+        String csv = export("csv");
+
+        // Assert
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(quoted, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("Line one\nLine two", objectMapper.readTree(lines[0]).get("description").asText());
+        assertEquals(plain, objectMapper.readTree(lines[1]).get("id").asLong());
+
+        assertTrue(csv.startsWith("id,title,description,status,createdAt\r\n" + quoted
+                + ",\"Say \"\"hi\"\", then leave\",\"Line one\nLine two\",pending,"));
+        assertTrue(csv.contains("\r\n" + plain + ",Plain,Nothing special,pending,"));
+
+        mockMvc.perform(get("/tasks/export").param("format", "xml").header("Authorization", authHeader))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importTasks_ExportedFileImportsBack() throws Exception {
+        // Arrange
+        createTask("Say \"hi\", then leave", "Line one\nLine two");
+        createTask("Plain", null);
+        String csv = export("csv");
+        String ndjson = export("ndjson");
+
+        // Act & Assert
+        mockMvc.perform(post("/tasks/import")
+                        .header("Authorization", authHeader)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.complete").value(true));
+        mockMvc.perform(post("/tasks/import")
+                        .header("Authorization", authHeader)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson + "{\"title\":\"\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("Title is required"));
+
+        assertEquals(3, taskRepository.findAll().stream()
+                .filter(task -> task.getDescription() != null && task.getDescription().equals("Line one\nLine two"))
+                .count());
+        mockMvc.perform(get("/tasks/stats").header("Authorization", authHeader))
+                .andExpect(jsonPath("$.pending").value(6));
+        mockMvc.perform(post("/tasks/import")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<tasks/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/export").param("format", format)
+                        .header("Authorization", authHeader))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks." + format + "\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode search(String q, String cursor, int size) throws Exception {
+        String body = mockMvc.perform(get("/tasks/search").param("q", q).param("size", String.valueOf(size))
+                        .param("cursor", cursor != null ? cursor : "")
+                        .header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode changes(long since) throws Exception {
+        String body = mockMvc.perform(get("/tasks/changes").param("since", String.valueOf(since))
+                        .header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private long createTask(String title) throws Exception {
+        return createTask(title, "Description");
+    }
+
+    private long createTask(String title, String description) throws Exception {
+        TaskRequest request = new TaskRequest(title, description, TaskStatus.PENDING);
+        String body = mockMvc.perform(post("/tasks")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    // Events arrive from the sender pool after the write commits, each in several writes
+    // (id, name, data), so only events up to the last blank line are complete.
+    private String awaitEvents(MvcResult stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = completeEvents(stream);
+        while (eventIds(content).size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = completeEvents(stream);
+        }
+        assertEquals(count, eventIds(content).size(), content);
+        return content;
+    }
+
+    private static String completeEvents(MvcResult stream) throws Exception {
+        String content = stream.getResponse().getContentAsString();
+        return content.substring(0, content.lastIndexOf("\n\n") + 1);
+    }
+
+    private static List<String> eventIds(String content) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = Pattern.compile("(?m)^id:(\\d+)$").matcher(content);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,66 @@
+package com.task.task_management.repository;
+
+import com.task.task_management.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskQueryPlannerTest {
+
+    @Test
+    void plan_StatusAndDateRange_UsesStatusCreatedIndex() {
+        // Arrange
+        TaskFilter filter = TaskFilter.of("done", LocalDateTime.of(2024, 1, 1, 0, 0), null, null, null, null);
+
+        // Act
+        TaskQueryPlan plan = TaskQueryPlanner.plan(1L, filter);
+
+        // Assert
+        assertEquals("idx_tasks_user_status_created_id", plan.index());
+        assertEquals(Sort.by(Sort.Order.asc("user.id"), Sort.Order.asc("status"),
+                Sort.Order.desc("createdAt"), Sort.Order.desc("id")), plan.sort());
+    }
+
+    @Test
+    void plan_TitlePrefix_UsesTitleIndexAscending() {
+        // Arrange
+        TaskFilter filter = TaskFilter.of(null, null, null, "Rep", "title", null);
+
+        // Act
+        TaskQueryPlan plan = TaskQueryPlanner.plan(1L, filter);
+
+        // Assert
+        assertEquals("idx_tasks_user_title_id", plan.index());
+        assertEquals(Sort.by("user.id", "title", "id"), plan.sort());
+    }
+
+    @Test
+    void plan_TitlePrefixSortedByDate_ThrowsException() {
+        // Arrange
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, null, null, "Rep",
+                TaskFilter.SortField.CREATED_AT, Sort.Direction.DESC);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            TaskQueryPlanner.plan(1L, filter);
+        });
+
+        assertEquals("Filtering by titlePrefix requires sort=title", exception.getMessage());
+    }
+
+    @Test
+    void plan_DateRangeSortedByTitle_ThrowsException() {
+        // Arrange
+        TaskFilter filter = TaskFilter.of(null, null, LocalDateTime.of(2024, 1, 1, 0, 0), null, "title", "desc");
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            TaskQueryPlanner.plan(1L, filter);
+        });
+
+        assertEquals("Filtering by createdFrom/createdTo requires sort=createdAt", exception.getMessage());
+    }
+}
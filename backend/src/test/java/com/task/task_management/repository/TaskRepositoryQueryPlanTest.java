@@ -0,0 +1,150 @@
+package com.task.task_management.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the H2 query plans of the task list queries against the Flyway schema, so that
+ * a changed query shape or a dropped index shows up as a test failure rather than as
+ * a full scan plus sort in production. Not transactional: ANALYZE commits on H2.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskRepositoryQueryPlanTest {
+
+    private static final String KEYSET_PAGE = """
+            select t.id, t.created_at, t.description, t.status, t.title, t.user_id
+            from tasks t
+            where t.user_id = ?
+              and t.created_at <= ?
+              and (t.created_at < ? or t.id < ?)
+            order by t.user_id, t.created_at desc, t.id desc
+            fetch first ? rows only
+            """;
+
+    private static final String TASK_BY_ID_AND_USER = """
+            select t.id, t.created_at, t.description, t.status, t.title, t.user_id
+            from tasks t
+            where t.id = ? and t.user_id = ?
+            """;
+
+    private static final String CHANGED_SINCE = """
+            select t.id, t.created_at, t.description, t.status, t.title, t.user_id
+            from tasks t
+            where t.user_id = ? and t.list_version > ?
+            order by t.list_version, t.id
+            fetch first ? rows only
+            """;
+
+    private static final String STATUS_NEWEST_FIRST = """
+            select t.id, t.created_at, t.description, t.status, t.title, t.user_id
+            from tasks t
+            where t.user_id = ? and t.status = ?
+            order by t.user_id, t.status, t.created_at desc, t.id desc
+            offset 0 rows fetch first ? rows only
+            """;
+
+    private static final String TITLE_PREFIX = """
+            select t.id, t.created_at, t.description, t.status, t.title, t.user_id
+            from tasks t
+            where t.user_id = ? and t.title like ? escape '\\'
+            order by t.user_id, t.title, t.id
+            offset 0 rows fetch first ? rows only
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < 2; u++) {
+            jdbcTemplate.update("insert into users (name, email, password) values (?, ?, ?)",
+                    "User " + u, "user" + u + "@example.com", "unused");
+        }
+        userId = jdbcTemplate.queryForObject("select min(id) from users", Long.class);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        jdbcTemplate.batchUpdate(
+                "insert into tasks (title, status, created_at, list_version, user_id) values (?, ?, ?, ?, ?)",
+                IntStream.range(0, 2_000)
+                        .mapToObj(i -> new Object[]{"Task " + i, "PENDING",
+                                Timestamp.valueOf(start.plusMinutes(i)), i / 2 + 1, userId + i % 2})
+                        .toList());
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void keysetPage_UsesCompositeIndexWithoutSort() {
+        // Arrange
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        // Act
+        String plan = explain(KEYSET_PAGE, userId, createdAt, createdAt, 500L, 21);
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_CREATED_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void taskByIdAndUser_UsesPrimaryKey() {
+        // Act
+        String plan = explain(TASK_BY_ID_AND_USER, 1L, userId);
+
+        // Assert
+        assertTrue(plan.contains("PRIMARY_KEY"), plan);
+    }
+
+    @Test
+    void changedSince_UsesListVersionIndex() {
+        // Act
+        String plan = explain(CHANGED_SINCE, userId, 990L, 1001);
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_LIST_VERSION"), plan);
+    }
+
+    @Test
+    void statusFilter_UsesStatusIndexWithoutSort() {
+        // Act
+        String plan = explain(STATUS_NEWEST_FIRST, userId, "PENDING", 20);
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_STATUS_CREATED_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void titlePrefix_UsesTitleIndexWithoutSort() {
+        // Act
+        String plan = explain(TITLE_PREFIX, userId, "Task 1%", 20);
+
+        // Assert
+        assertTrue(plan.contains("IDX_TASKS_USER_TITLE_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+    }
+}
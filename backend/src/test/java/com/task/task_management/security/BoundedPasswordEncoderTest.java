@@ -0,0 +1,92 @@
+package com.task.task_management.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnPoolAndRecordLatency() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, registry);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, registry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_StrengthChanged_ReturnsTrue() {
+        // Arrange
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, registry);
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+    }
+
+    @Test
+    void encode_QueueFull_ThrowsBusyWithoutWaiting() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (encoder.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        assertEquals(1, registry.get("auth.password.rejected").counter().count());
+        assertEquals(1, registry.get("auth.password.queue.depth").gauge().value());
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
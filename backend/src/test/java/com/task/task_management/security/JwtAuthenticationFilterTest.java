@@ -0,0 +1,71 @@
+package com.task.task_management.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET =
+            "VGVzdFNlY3JldEtleUZvckpXVFRva2VuR2VuZXJhdGlvbk11c3RCZUxvbmdFbm91Z2hGb3JUZXN0aW5n";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L, 100);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtUtil, mock(UserDetailsService.class), meterRegistry);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ValidToken_AuthenticatesAndCountsIt() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = bearer(jwtUtil.generateToken(42L, "john@example.com"));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertEquals(1, count("authenticated"));
+        assertEquals(0, count("rejected"));
+    }
+
+    @Test
+    void doFilter_AlreadyAuthenticated_IsNotCountedAsAuthenticated() throws Exception {
+        // Arrange
+        Authentication existing = new UsernamePasswordAuthenticationToken("other", null, null);
+        SecurityContextHolder.getContext().setAuthentication(existing);
+        MockHttpServletRequest request = bearer(jwtUtil.generateToken(42L, "john@example.com"));
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertSame(existing, SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(0, count("authenticated"));
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private long count(String result) {
+        return meterRegistry.get("auth.jwt.filter").tag("result", result).timer().count();
+    }
+}
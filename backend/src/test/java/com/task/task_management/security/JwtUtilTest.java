@@ -0,0 +1,72 @@
+package com.task.task_management.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET =
+            "VGVzdFNlY3JldEtleUZvckpXVFRva2VuR2VuZXJhdGlvbk11c3RCZUxvbmdFbm91Z2hGb3JUZXN0aW5n";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, 100);
+    }
+
+    @Test
+    void parseToken_ReturnsSubjectAndUserId() {
+        // Arrange
+        String token = jwtUtil.generateToken(42L, "john@example.com");
+
+        // Act
+        Claims claims = jwtUtil.parseToken(token);
+
+        // Assert
+        assertEquals("john@example.com", claims.getSubject());
+        assertEquals(42L, jwtUtil.extractUserId(claims));
+    }
+
+    @Test
+    void parseToken_RepeatedToken_ServedFromCache() {
+        // Arrange
+        String token = jwtUtil.generateToken(42L, "john@example.com");
+
+        // Act
+        Claims first = jwtUtil.parseToken(token);
+        Claims second = jwtUtil.parseToken(token);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, jwtUtil.getVerifiedTokens().stats().hitCount());
+        assertEquals(1, jwtUtil.getVerifiedTokens().stats().missCount());
+    }
+
+    @Test
+    void parseToken_TamperedSignature_ThrowsException() {
+        // Arrange
+        String token = jwtUtil.generateToken(42L, "john@example.com");
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(tampered));
+        assertEquals(0, jwtUtil.getVerifiedTokens().estimatedSize());
+    }
+
+    @Test
+    void parseToken_ExpiredToken_ThrowsException() {
+        // Arrange
+        JwtUtil expiredIssuer = new JwtUtil(SECRET, -1_000L, 100);
+        String token = expiredIssuer.generateToken(42L, "john@example.com");
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+}
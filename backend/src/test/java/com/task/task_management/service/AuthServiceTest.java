@@ -38,6 +38,15 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private TaskListVersionService taskListVersionService;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -69,7 +78,7 @@ class AuthServiceTest {
         when(userRepository.existsByEmail(registerRequest.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(jwtUtil.generateToken(testUser.getEmail())).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(testUser.getId(), testUser.getEmail())).thenReturn("jwt-token");
 
         // Act
         AuthResponse response = authService.register(registerRequest);
@@ -84,7 +93,9 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail(registerRequest.getEmail());
         verify(passwordEncoder).encode(registerRequest.getPassword());
         verify(userRepository).save(any(User.class));
-        verify(jwtUtil).generateToken(testUser.getEmail());
+        verify(taskStatsService).initialize(testUser.getId());
+        verify(userDetailsService).evictPrincipal(testUser.getEmail());
+        verify(jwtUtil).generateToken(testUser.getId(), testUser.getEmail());
     }
 
     @Test
@@ -108,7 +119,7 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(null);
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken(testUser.getEmail())).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(testUser.getId(), testUser.getEmail())).thenReturn("jwt-token");
 
         // Act
         AuthResponse response = authService.login(loginRequest);
@@ -122,7 +133,7 @@ class AuthServiceTest {
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository).findByEmail(loginRequest.getEmail());
-        verify(jwtUtil).generateToken(testUser.getEmail());
+        verify(jwtUtil).generateToken(testUser.getId(), testUser.getEmail());
     }
 
     @Test
@@ -138,7 +149,7 @@ class AuthServiceTest {
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository, never()).findByEmail(any());
-        verify(jwtUtil, never()).generateToken(any());
+        verify(jwtUtil, never()).generateToken(any(), any());
     }
 
     @Test
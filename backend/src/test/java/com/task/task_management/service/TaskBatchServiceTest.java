@@ -0,0 +1,174 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.BatchResponse;
+import com.task.task_management.dto.TaskBatchUpdateRequest;
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.entity.Task;
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.TaskTombstoneRepository;
+import com.task.task_management.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskListVersionService taskListVersionService;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskBatchService taskBatchService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        taskBatchService = new TaskBatchService(taskRepository, userRepository, taskTombstoneRepository,
+                taskListVersionService, taskStatsService, eventPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(), 3);
+
+        testUser = new User();
+        testUser.setId(1L);
+    }
+
+    @Test
+    void createTasks_InvalidItem_ReportedWithoutFailingOthers() {
+        // Arrange
+        AtomicLong ids = new AtomicLong(100);
+        when(taskListVersionService.increment(1L)).thenReturn(5L);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(ids.incrementAndGet());
+            return task;
+        });
+
+        List<TaskRequest> requests = List.of(
+                new TaskRequest("First", null, null),
+                new TaskRequest("", null, null),
+                new TaskRequest("Third", null, TaskStatus.DONE));
+
+        // Act
+        BatchResponse response = taskBatchService.createTasks(requests, 1L);
+
+        // Assert
+        assertEquals(2, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(101L, response.getResults().get(0).getId());
+        assertEquals("Title is required", response.getResults().get(1).getError());
+        assertEquals(102L, response.getResults().get(2).getId());
+        verify(taskRepository, times(2)).save(argThat(task -> task.getListVersion() == 5L));
+        verify(taskListVersionService, times(1)).increment(1L);
+        verify(taskStatsService).add(1L, Map.of(TaskStatus.PENDING, 1L, TaskStatus.DONE, 1L));
+    }
+
+    @Test
+    void createTasks_TooManyItems_ThrowsException() {
+        // Arrange
+        List<TaskRequest> requests = List.of(new TaskRequest("1", null, null), new TaskRequest("2", null, null),
+                new TaskRequest("3", null, null), new TaskRequest("4", null, null));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskBatchService.createTasks(requests, 1L);
+        });
+
+        assertEquals("Batch must contain between 1 and 3 items", exception.getMessage());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void updateTasks_UnknownId_ReportsNotFound() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Old");
+        task.setStatus(TaskStatus.PENDING);
+        task.setUser(testUser);
+        when(taskRepository.findAllByIdInAndUserId(List.of(1L, 2L), 1L)).thenReturn(List.of(task));
+
+        List<TaskBatchUpdateRequest> requests = List.of(
+                new TaskBatchUpdateRequest(1L, "New", null, TaskStatus.DONE),
+                new TaskBatchUpdateRequest(2L, "Other", null, null));
+
+        // Act
+        BatchResponse response = taskBatchService.updateTasks(requests, 1L);
+
+        // Assert
+        assertEquals(1, response.getSucceeded());
+        assertEquals("Task not found", response.getResults().get(1).getError());
+        assertEquals("New", task.getTitle());
+        assertEquals(TaskStatus.DONE, task.getStatus());
+        verify(taskStatsService).add(1L, Map.of(TaskStatus.PENDING, -1L, TaskStatus.DONE, 1L));
+    }
+
+    @Test
+    void updateTasks_UnchangedStatus_LeavesCountsAlone() {
+        // Arrange
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Old");
+        task.setStatus(TaskStatus.DONE);
+        task.setUser(testUser);
+        when(taskRepository.findAllByIdInAndUserId(List.of(1L), 1L)).thenReturn(List.of(task));
+
+        // Act
+        BatchResponse response = taskBatchService.updateTasks(
+                List.of(new TaskBatchUpdateRequest(1L, "New", null, TaskStatus.DONE)), 1L);
+
+        // Assert
+        assertEquals(1, response.getSucceeded());
+        assertEquals("New", task.getTitle());
+        verify(taskStatsService).add(1L, Map.of());
+    }
+
+    @Test
+    void deleteTasks_DeletesOnlyOwnedIdsInOneStatement() {
+        // Arrange
+        when(taskRepository.findIdsByIdInAndUserId(List.of(1L, 2L, 1L), 1L)).thenReturn(List.of(1L));
+
+        // Act
+        BatchResponse response = taskBatchService.deleteTasks(Arrays.asList(1L, 2L, 1L), 1L);
+
+        // Assert
+        assertEquals(1, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        verify(taskRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(taskListVersionService).advance(1L);
+        verify(taskTombstoneRepository).insertForTasks(eq(List.of(1L)), eq(1L), any(LocalDateTime.class));
+        verify(taskStatsService).removeTasks(1L, List.of(1L));
+    }
+}
@@ -0,0 +1,121 @@
+package com.task.task_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.task_management.dto.BatchItemResult;
+import com.task.task_management.dto.BatchResponse;
+import com.task.task_management.dto.TaskImportResponse;
+import com.task.task_management.dto.TaskRequest;
+import com.task.task_management.entity.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    private TaskImportService taskImportService;
+
+    private final List<List<TaskRequest>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportService(taskBatchService, new ObjectMapper(), 2);
+        // Accepts every row with a title, like the real validation.
+        lenient().when(taskBatchService.createTasks(anyList(), eq(1L))).thenAnswer(invocation -> {
+            List<TaskRequest> chunk = List.copyOf(invocation.getArgument(0));
+            chunks.add(chunk);
+            return BatchResponse.of(IntStream.range(0, chunk.size())
+                    .mapToObj(i -> chunk.get(i).getTitle() == null
+                            ? BatchItemResult.failure(i, null, "Title is required")
+                            : BatchItemResult.success(i, (long) i))
+                    .toList());
+        });
+    }
+
+    @Test
+    void importTasks_Ndjson_WritesInChunksAndReportsRejectedLines() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"title":"One","status":"done"}
+                {"title":"Two","id":42,"createdAt":"2024-01-01T00:00:00"}
+                {"title":"Bad","status":"archived"}
+                {"description":"No title"}
+                {"title":"Three"}
+                """;
+
+        // Act
+        TaskImportResponse response = importBody(TaskFileFormat.NDJSON, ndjson);
+
+        // Assert
+        assertEquals(3, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertTrue(response.isComplete());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getError().startsWith("Invalid task status: archived"));
+        assertEquals(4, response.getErrors().get(1).getLine());
+        assertEquals("Title is required", response.getErrors().get(1).getError());
+        assertEquals(List.of(2, 2), chunks.stream().map(List::size).toList());
+        assertEquals(TaskStatus.DONE, chunks.get(0).get(0).getStatus());
+    }
+
+    @Test
+    void importTasks_Csv_ParsesQuotedFieldsAndIgnoresExtraColumns() throws Exception {
+        // Arrange
+        String csv = "id,title,description,status,createdAt\r\n"
+                + "7,\"Say \"\"hi\"\", then leave\",\"Line one\nLine two\",in_progress,2024-01-01T00:00:00\r\n"
+                + "8,Plain,,,\r\n";
+
+        // Act
+        TaskImportResponse response = importBody(TaskFileFormat.CSV, csv);
+
+        // Assert
+        assertEquals(2, response.getImported());
+        TaskRequest quoted = chunks.get(0).get(0);
+        assertEquals("Say \"hi\", then leave", quoted.getTitle());
+        assertEquals("Line one\nLine two", quoted.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, quoted.getStatus());
+        assertNull(chunks.get(0).get(1).getDescription());
+        assertNull(chunks.get(0).get(1).getStatus());
+    }
+
+    @Test
+    void importTasks_MalformedInput_KeepsRowsBeforeItAndStops() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"title":"One"}
+                {"title": oops}
+                {"title":"Never read"}
+                """;
+
+        // Act
+        TaskImportResponse response = importBody(TaskFileFormat.NDJSON, ndjson);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertFalse(response.isComplete());
+        assertEquals(2, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getError().startsWith("Malformed input"));
+        verify(taskBatchService, times(1)).createTasks(anyList(), eq(1L));
+    }
+
+    private TaskImportResponse importBody(TaskFileFormat format, String body) throws Exception {
+        return taskImportService.importTasks(1L, format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,18 +1,24 @@
 package com.task.task_management.service;
 
+import com.task.task_management.dto.CursorPage;
 import com.task.task_management.dto.TaskRequest;
 import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.dto.TaskSummaryResponse;
 import com.task.task_management.dto.TaskUpdateRequest;
 import com.task.task_management.entity.Task;
 import com.task.task_management.entity.TaskStatus;
 import com.task.task_management.entity.User;
 import com.task.task_management.repository.TaskRepository;
+import com.task.task_management.repository.TaskTombstoneRepository;
+import com.task.task_management.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -20,10 +26,12 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,17 +41,36 @@ class TaskServiceTest {
     private TaskRepository taskRepository;
 
     @Mock
-    private UserDetailsServiceImpl userDetailsService;
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private TaskListVersionService taskListVersionService;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private TaskWriteBehindService taskWriteBehindService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TaskService taskService;
 
     private User testUser;
     private Task testTask;
+    private TaskResponse testResponse;
     private TaskRequest taskRequest;
 
     @BeforeEach
     void setUp() {
+        // No pending write-behind changes
+        lenient().when(taskWriteBehindService.pending(any())).thenReturn(TaskWriteBehindService.PendingChanges.NONE);
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setName("John Doe");
@@ -57,6 +84,9 @@ class TaskServiceTest {
         testTask.setCreatedAt(LocalDateTime.now());
         testTask.setUser(testUser);
 
+        testResponse = new TaskResponse(1L, "Test Task", "Test Description", TaskStatus.PENDING,
+                testTask.getCreatedAt(), 1L);
+
         taskRequest = new TaskRequest();
         taskRequest.setTitle("New Task");
         taskRequest.setDescription("New Description");
@@ -66,11 +96,11 @@ class TaskServiceTest {
     @Test
     void createTask_Success() {
         // Arrange
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         // Act
-        TaskResponse response = taskService.createTask(taskRequest, "john@example.com");
+        TaskResponse response = taskService.createTask(taskRequest, 1L);
 
         // Assert
         assertNotNull(response);
@@ -79,70 +109,135 @@ class TaskServiceTest {
         assertEquals(testTask.getDescription(), response.getDescription());
         assertEquals(testTask.getStatus().getValue(), response.getStatus());
 
-        verify(userDetailsService).getUserByEmail("john@example.com");
+        verify(userRepository).getReferenceById(1L);
         verify(taskRepository).save(any(Task.class));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(1L, TaskChangedEvent.Type.CREATED, 1L, response));
+        verify(taskStatsService).add(1L, TaskStatus.PENDING, 1);
     }
 
     @Test
     void getUserTasks_Success() {
         // Arrange
-        Task task2 = new Task();
-        task2.setId(2L);
-        task2.setTitle("Task 2");
-        task2.setStatus(TaskStatus.IN_PROGRESS);
-        task2.setUser(testUser);
-        task2.setCreatedAt(LocalDateTime.now());
-
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask, task2));
+        TaskResponse task2 = new TaskResponse(2L, "Task 2", null, TaskStatus.IN_PROGRESS, LocalDateTime.now(), 1L);
+        Page<TaskResponse> taskPage = new PageImpl<>(Arrays.asList(testResponse, task2));
 
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
-        when(taskRepository.findByUserId(eq(1L), any(Pageable.class))).thenReturn(taskPage);
+        when(taskRepository.findResponsesByUserId(eq(1L), any(Pageable.class))).thenReturn(taskPage);
 
         // Act
-        Page<TaskResponse> response = taskService.getUserTasks("john@example.com", 0, 10);
+        Page<TaskResponse> response = taskService.getUserTasks(1L, 0, 10);
 
         // Assert
         assertNotNull(response);
         assertEquals(2, response.getContent().size());
         assertEquals("Test Task", response.getContent().get(0).getTitle());
         assertEquals("Task 2", response.getContent().get(1).getTitle());
+        assertEquals("in_progress", response.getContent().get(1).getStatus());
+
+        verify(taskRepository).findResponsesByUserId(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getUserTaskSummaries_Success() {
+        // Arrange
+        TaskSummaryResponse summary = new TaskSummaryResponse(1L, "Test Task", TaskStatus.PENDING,
+                testTask.getCreatedAt(), 1L);
+        when(taskRepository.findSummariesByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary)));
+
+        // Act
+        Page<TaskSummaryResponse> response = taskService.getUserTaskSummaries(1L, 0, 10);
+
+        // Assert
+        assertEquals(1, response.getContent().size());
+        assertEquals("pending", response.getContent().get(0).getStatus());
+        verify(taskRepository, never()).findResponsesByUserId(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getUserTasksAfter_FirstPage_ReturnsNextCursor() {
+        // Arrange
+        TaskResponse task2 = new TaskResponse(2L, "Task 2", null, TaskStatus.IN_PROGRESS,
+                testTask.getCreatedAt().minusMinutes(1), 1L);
+
+        when(taskRepository.findResponsesByUserId(1L, Limit.of(2)))
+                .thenReturn(List.of(testResponse, task2));
+
+        // Act
+        CursorPage<TaskResponse> response = taskService.getUserTasksAfter(1L, "", 1);
+
+        // Assert
+        assertEquals(1, response.getContent().size());
+        assertEquals("Test Task", response.getContent().get(0).getTitle());
+        assertTrue(response.isHasNext());
+        assertEquals(new TaskCursor(testTask.getCreatedAt(), 1L), TaskCursor.decode(response.getNextCursor()));
+        verify(taskRepository, never()).findResponsesByUserId(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getUserTasksAfter_LastPage_ReturnsNoCursor() {
+        // Arrange
+        TaskCursor cursor = new TaskCursor(LocalDateTime.now(), 5L);
+        when(taskRepository.findResponsesByUserIdAfter(1L, cursor.createdAt(), 5L, Limit.of(11)))
+                .thenReturn(List.of(testResponse));
+
+        // Act
+        CursorPage<TaskResponse> response = taskService.getUserTasksAfter(1L, cursor.encode(), 10);
+
+        // Assert
+        assertEquals(1, response.getContent().size());
+        assertFalse(response.isHasNext());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getUserTasksAfter_InvalidCursor_ThrowsException() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.getUserTasksAfter(1L, "not-a-cursor", 10);
+        });
 
-        verify(userDetailsService).getUserByEmail("john@example.com");
-        verify(taskRepository).findByUserId(eq(1L), any(Pageable.class));
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void getUserTasksAfter_SizeAboveMaximum_ThrowsException() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.getUserTasksAfter(1L, null, Integer.MAX_VALUE);
+        });
+
+        assertEquals("Page size must not be greater than 100", exception.getMessage());
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void getTaskById_Success() {
         // Arrange
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
-        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testResponse));
 
         // Act
-        TaskResponse response = taskService.getTaskById(1L, "john@example.com");
+        TaskResponse response = taskService.getTaskById(1L, 1L);
 
         // Assert
         assertNotNull(response);
         assertEquals(testTask.getId(), response.getId());
         assertEquals(testTask.getTitle(), response.getTitle());
 
-        verify(userDetailsService).getUserByEmail("john@example.com");
-        verify(taskRepository).findByIdAndUserId(1L, 1L);
+        verify(taskRepository).findResponseByIdAndUserId(1L, 1L);
     }
 
     @Test
     void getTaskById_NotFound_ThrowsException() {
         // Arrange
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
-        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            taskService.getTaskById(1L, "john@example.com");
+            taskService.getTaskById(1L, 1L);
         });
 
         assertEquals("Task not found", exception.getMessage());
-        verify(userDetailsService).getUserByEmail("john@example.com");
-        verify(taskRepository).findByIdAndUserId(1L, 1L);
+        verify(taskRepository).findResponseByIdAndUserId(1L, 1L);
     }
 
     @Test
@@ -152,50 +247,95 @@ class TaskServiceTest {
         updateRequest.setTitle("Updated Title");
         updateRequest.setStatus(TaskStatus.DONE);
 
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
-        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        TaskResponse updated = new TaskResponse(1L, "Updated Title", "Test Description", TaskStatus.DONE,
+                testTask.getCreatedAt(), 1L);
+        when(taskRepository.updateByIdAndUserId(1L, 1L, "Updated Title", null, TaskStatus.DONE)).thenReturn(1);
+        when(taskRepository.findResponseByIdAndUserId(1L, 1L)).thenReturn(Optional.of(updated));
 
         // Act
-        TaskResponse response = taskService.updateTask(1L, updateRequest, "john@example.com");
+        TaskResponse response = taskService.updateTask(1L, updateRequest, 1L);
 
         // Assert
-        assertNotNull(response);
-        verify(userDetailsService).getUserByEmail("john@example.com");
-        verify(taskRepository).findByIdAndUserId(1L, 1L);
-        verify(taskRepository).save(any(Task.class));
+        assertEquals("Updated Title", response.getTitle());
+        assertEquals("done", response.getStatus());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskStatsService).moveTask(1L, 1L, TaskStatus.DONE);
+    }
+
+    @Test
+    void updateTask_NotFound_ThrowsException() {
+        // Arrange
+        TaskUpdateRequest updateRequest = new TaskUpdateRequest();
+        updateRequest.setTitle("Updated Title");
+        when(taskRepository.updateByIdAndUserId(1L, 1L, "Updated Title", null, null)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.updateTask(1L, updateRequest, 1L);
+        });
+
+        assertEquals("Task not found", exception.getMessage());
+        verify(taskRepository, never()).findResponseByIdAndUserId(any(), any());
+    }
+
+    @Test
+    void updateTaskStatus_Success() {
+        // Arrange
+        when(taskRepository.updateStatusByIdAndUserId(1L, 1L, TaskStatus.DONE)).thenReturn(1);
+
+        // Act
+        taskService.updateTaskStatus(1L, TaskStatus.DONE, 1L);
+
+        // Assert
+        verify(taskListVersionService).advance(1L);
+        verify(taskRepository).updateStatusByIdAndUserId(1L, 1L, TaskStatus.DONE);
+        verify(taskListVersionService, never()).current(any());
+        verify(taskStatsService).moveTask(1L, 1L, TaskStatus.DONE);
+        verify(taskRepository, never()).findStatusByIdAndUserId(any(), any());
+    }
+
+    @Test
+    void updateTaskStatus_NotFound_ThrowsException() {
+        // Arrange
+        when(taskRepository.updateStatusByIdAndUserId(1L, 1L, TaskStatus.DONE)).thenReturn(0);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            taskService.updateTaskStatus(1L, TaskStatus.DONE, 1L);
+        });
+
+        assertEquals("Task not found", exception.getMessage());
+        // The counter statement matched no row and rolls back with the exception anyway.
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void deleteTask_Success() {
         // Arrange
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
-        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTask));
-        doNothing().when(taskRepository).delete(testTask);
+        when(taskRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(1);
 
         // Act
-        taskService.deleteTask(1L, "john@example.com");
+        taskService.deleteTask(1L, 1L);
 
         // Assert
-        verify(userDetailsService).getUserByEmail("john@example.com");
-        verify(taskRepository).findByIdAndUserId(1L, 1L);
-        verify(taskRepository).delete(testTask);
+        verify(taskRepository).deleteByIdAndUserId(1L, 1L);
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(taskTombstoneRepository).insertForTasks(eq(List.of(1L)), eq(1L), any(LocalDateTime.class));
+        verify(taskStatsService).removeTask(1L, 1L);
     }
 
     @Test
     void deleteTask_NotFound_ThrowsException() {
         // Arrange
-        when(userDetailsService.getUserByEmail("john@example.com")).thenReturn(testUser);
-        when(taskRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.deleteByIdAndUserId(1L, 1L)).thenReturn(0);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            taskService.deleteTask(1L, "john@example.com");
+            taskService.deleteTask(1L, 1L);
         });
 
         assertEquals("Task not found", exception.getMessage());
-        verify(userDetailsService).getUserByEmail("john@example.com");
-        verify(taskRepository).findByIdAndUserId(1L, 1L);
-        verify(taskRepository, never()).delete(any(Task.class));
+        // The version bump, counter and tombstone roll back with the exception.
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
\ No newline at end of file
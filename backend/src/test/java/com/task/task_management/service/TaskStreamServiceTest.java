@@ -0,0 +1,136 @@
+package com.task.task_management.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStreamServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // One sender thread; two replayed events per user, for up to ten users.
+    private final TaskStreamService service = new TaskStreamService(Duration.ofMinutes(1), Duration.ofMillis(100),
+            100, 2, 10, 1, meterRegistry);
+
+    // Stands in for a client connection: records sends, and can block them like a full socket.
+    private static class ClientEmitter extends SseEmitter {
+        final StringBuffer text = new StringBuffer();
+        final CountDownLatch unblock = new CountDownLatch(1);
+        final CountDownLatch sendStarted = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final CountDownLatch received;
+        final boolean stalled;
+
+        ClientEmitter(int expectedSends, boolean stalled) {
+            this.received = new CountDownLatch(expectedSends);
+            this.stalled = stalled;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().forEach(data -> text.append(data.getData()));
+            sendStarted.countDown();
+            if (stalled) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        long lastEventId() {
+            Matcher matcher = Pattern.compile("id:(\\d+)").matcher(text);
+            long id = -1;
+            while (matcher.find()) {
+                id = Long.parseLong(matcher.group(1));
+            }
+            return id;
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void evictStalledSends_StalledClient_DoesNotHoldUpOthers() throws Exception {
+        // Arrange: one sender thread, taken by a client that stops reading
+        ClientEmitter stalled = new ClientEmitter(1, true);
+        service.subscribe(1L, null, stalled);
+        assertTrue(stalled.sendStarted.await(5, TimeUnit.SECONDS));
+        // The connected comment, then one task event
+        ClientEmitter other = new ClientEmitter(2, false);
+        service.subscribe(2L, null, other);
+        Thread.sleep(200);
+
+        // Act
+        service.evictStalledSends();
+        service.onTaskChanged(new TaskChangedEvent(2L, TaskChangedEvent.Type.CREATED, 1L, "task"));
+
+        // Assert
+        assertTrue(other.received.await(5, TimeUnit.SECONDS));
+        assertEquals(1, service.getConnectionCount());
+        assertEquals(1, meterRegistry.get("tasks.stream.stalls").counter().count());
+        stalled.unblock.countDown();
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void subscribe_AfterAnotherUsersBurst_StillReplaysOwnEvents() throws Exception {
+        // Arrange
+        ClientEmitter live = new ClientEmitter(2, false);
+        service.subscribe(1L, null, live);
+        service.onTaskChanged(new TaskChangedEvent(1L, TaskChangedEvent.Type.CREATED, 1L, "mine"));
+        assertTrue(live.received.await(5, TimeUnit.SECONDS));
+        long ownEventId = live.lastEventId();
+        for (long taskId = 2; taskId <= 6; taskId++) {
+            service.onTaskChanged(new TaskChangedEvent(2L, TaskChangedEvent.Type.CREATED, taskId, "busy"));
+        }
+
+        // Act
+        ClientEmitter resumed = new ClientEmitter(2, false);
+        service.subscribe(1L, String.valueOf(ownEventId - 1), resumed);
+
+        // Assert
+        assertTrue(resumed.received.await(5, TimeUnit.SECONDS));
+        assertTrue(resumed.text.toString().contains("mine"));
+        assertFalse(resumed.text.toString().contains("reset"));
+    }
+
+    @Test
+    void subscribe_OlderThanOwnReplay_GetsReset() throws Exception {
+        // Arrange
+        ClientEmitter live = new ClientEmitter(2, false);
+        service.subscribe(1L, null, live);
+        service.onTaskChanged(new TaskChangedEvent(1L, TaskChangedEvent.Type.CREATED, 1L, "first"));
+        assertTrue(live.received.await(5, TimeUnit.SECONDS));
+        long firstEventId = live.lastEventId();
+        for (long taskId = 2; taskId <= 3; taskId++) {
+            service.onTaskChanged(new TaskChangedEvent(1L, TaskChangedEvent.Type.CREATED, taskId, "later"));
+        }
+
+        // Act
+        ClientEmitter resumed = new ClientEmitter(2, false);
+        service.subscribe(1L, String.valueOf(firstEventId - 1), resumed);
+
+        // Assert
+        assertTrue(resumed.received.await(5, TimeUnit.SECONDS));
+        assertTrue(resumed.text.toString().contains("reset"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.task.task_management.service;
+
+import com.task.task_management.dto.BatchItemResult;
+import com.task.task_management.dto.BatchResponse;
+import com.task.task_management.dto.TaskBatchUpdateRequest;
+import com.task.task_management.dto.TaskResponse;
+import com.task.task_management.entity.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskWriteBehindServiceTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final TaskBatchService taskBatchService = mock(TaskBatchService.class);
+
+    private TaskWriteBehindService service() throws Exception {
+        return service(100);
+    }
+
+    private TaskWriteBehindService service(int maxPending) throws Exception {
+        return new TaskWriteBehindService(taskBatchService, journalDir.toString(), DataSize.ofKilobytes(4), maxPending, 10);
+    }
+
+    @Test
+    void submit_ConcurrentlyAtMaxPending_AcceptsNoMore() throws Exception {
+        // Arrange: no committer, so nothing is applied
+        TaskWriteBehindService service = service(5);
+        List<Thread> submitters = new ArrayList<>();
+        List<Long> accepted = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            long taskId = i;
+            submitters.add(new Thread(() -> {
+                for (int j = 0; j < 10; j++) {
+                    Long operationId = service.submit(1L, taskId, TaskStatus.DONE);
+                    if (operationId != null) {
+                        accepted.add(operationId);
+                    }
+                }
+            }));
+        }
+        submitters.forEach(Thread::start);
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        // Assert
+        assertEquals(5, accepted.size());
+        service.stop();
+    }
+
+    @Test
+    void submit_DatabaseFailsOnce_RetriesAndApplies() throws Exception {
+        // Arrange
+        when(taskBatchService.updateTasks(anyList(), eq(1L)))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection refused"))
+                .thenReturn(BatchResponse.of(List.of(BatchItemResult.success(0, 10L))));
+        TaskWriteBehindService service = service();
+        service.start();
+
+        // Act
+        Long operationId = service.submit(1L, 10L, TaskStatus.DONE);
+        service.awaitApplied(10L);
+
+        // Assert
+        assertEquals("applied", service.getOperation(operationId, 1L).getState());
+        verify(taskBatchService, times(2)).updateTasks(anyList(), eq(1L));
+        service.stop();
+    }
+
+    @Test
+    void submit_ChangeFailsPermanently_FailsItAndAppliesTheRest() throws Exception {
+        // Arrange: the change to task 11 can never be applied
+        when(taskBatchService.updateTasks(anyList(), eq(1L))).thenAnswer(invocation -> {
+            List<TaskBatchUpdateRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> request.getId() == 11L)) {
+                throw new DataIntegrityViolationException("Data too long");
+            }
+            return BatchResponse.of(List.of(BatchItemResult.success(0, 10L)));
+        });
+        TaskWriteBehindService service = service();
+        Long failing = service.submit(1L, 11L, TaskStatus.DONE);
+        Long applying = service.submit(1L, 10L, TaskStatus.DONE);
+
+        // Act
+        service.start();
+        service.awaitApplied(List.of(10L, 11L));
+        service.stop();
+
+        // Assert
+        assertEquals("failed", service.getOperation(failing, 1L).getState());
+        assertEquals("applied", service.getOperation(applying, 1L).getState());
+        verify(taskBatchService, times(3)).updateTasks(anyList(), eq(1L));
+        List<TaskWriteJournal.Entry> unapplied = new ArrayList<>();
+        TaskWriteJournal.open(journalDir, 4096, unapplied).close();
+        assertEquals(List.of(), unapplied);
+    }
+
+    @Test
+    void pending_TakenBeforeChangeIsApplied_StillOverlaysIt() throws Exception {
+        // Arrange
+        when(taskBatchService.updateTasks(anyList(), eq(1L)))
+                .thenReturn(BatchResponse.of(List.of(BatchItemResult.success(0, 10L))));
+        TaskWriteBehindService service = service();
+        service.submit(1L, 10L, TaskStatus.DONE);
+        // A read takes the pending changes, then loads the row before the change commits.
+        TaskWriteBehindService.PendingChanges pending = service.pending(1L);
+        TaskResponse row = new TaskResponse(10L, "Task", null, TaskStatus.PENDING, LocalDateTime.now(), 1L);
+
+        // Act
+        service.start();
+        service.awaitApplied(10L);
+
+        // Assert
+        assertEquals("done", pending.overlay(row).getStatus());
+        assertEquals("pending", service.pending(1L).overlay(row).getStatus());
+        service.stop();
+    }
+
+    @Test
+    void stop_WhileDatabaseFails_KeepsChangeForReplay() throws Exception {
+        // Arrange
+        when(taskBatchService.updateTasks(anyList(), eq(1L))).thenThrow(new CannotGetJdbcConnectionException("Connection refused"));
+        TaskWriteBehindService service = service();
+        service.start();
+        Long operationId = service.submit(1L, 10L, TaskStatus.DONE);
+        verify(taskBatchService, timeout(5000)).updateTasks(anyList(), eq(1L));
+
+        // Act
+        service.stop();
+
+        // Assert
+        List<TaskWriteJournal.Entry> unapplied = new ArrayList<>();
+        TaskWriteJournal.open(journalDir, 4096, unapplied).close();
+        assertEquals(List.of(new TaskWriteJournal.Entry(operationId, 1L, 10L, TaskStatus.DONE)), unapplied);
+    }
+}
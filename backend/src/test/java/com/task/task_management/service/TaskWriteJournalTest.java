@@ -0,0 +1,118 @@
+package com.task.task_management.service;
+
+import com.task.task_management.entity.TaskStatus;
+import com.task.task_management.service.TaskWriteJournal.Entry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskWriteJournalTest {
+
+    private static final int SEGMENT_SIZE = 4 * TaskWriteJournal.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_AfterRestart_ReturnsUnappliedEntriesAcrossSegments() throws Exception {
+        // Arrange
+        try (TaskWriteJournal journal = TaskWriteJournal.open(directory, SEGMENT_SIZE, new ArrayList<>())) {
+            for (long taskId = 1; taskId <= 10; taskId++) {
+                journal.sync(journal.append(7L, taskId, TaskStatus.DONE));
+            }
+        }
+
+        // Act
+        List<Entry> unapplied = new ArrayList<>();
+        try (TaskWriteJournal journal = TaskWriteJournal.open(directory, SEGMENT_SIZE, unapplied)) {
+            // Assert
+            assertEquals(10, unapplied.size());
+            assertEquals(new Entry(1, 7L, 1L, TaskStatus.DONE), unapplied.get(0));
+            assertEquals(10, unapplied.get(9).seq());
+            assertEquals(11, journal.append(7L, 11L, TaskStatus.PENDING));
+        }
+    }
+
+    @Test
+    void checkpoint_SkipsAppliedEntriesAndDropsTheirSegments() throws Exception {
+        // Arrange
+        try (TaskWriteJournal journal = TaskWriteJournal.open(directory, SEGMENT_SIZE, new ArrayList<>())) {
+            for (long taskId = 1; taskId <= 10; taskId++) {
+                journal.append(7L, taskId, TaskStatus.IN_PROGRESS);
+            }
+            journal.sync(journal.lastSeq());
+
+            // Act
+            journal.checkpoint(8);
+        }
+
+        // Assert
+        List<Entry> unapplied = new ArrayList<>();
+        TaskWriteJournal.open(directory, SEGMENT_SIZE, unapplied).close();
+        assertEquals(List.of(9L, 10L), unapplied.stream().map(Entry::seq).toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            // Segments starting at 9 (holding 9-10) and 11 (empty, rolled at open), plus the checkpoint
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    void open_TornRecord_EndsTheSegment() throws Exception {
+        // Arrange
+        try (TaskWriteJournal journal = TaskWriteJournal.open(directory, SEGMENT_SIZE, new ArrayList<>())) {
+            journal.append(7L, 1L, TaskStatus.DONE);
+            journal.append(7L, 2L, TaskStatus.DONE);
+            journal.sync(journal.lastSeq());
+        }
+        Path segment = directory.resolve(String.format("journal-%020d.log", 1));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(TaskWriteJournal.RECORD_SIZE + 20);
+            file.write(0xFF);
+        }
+
+        // Act
+        List<Entry> unapplied = new ArrayList<>();
+        TaskWriteJournal.open(directory, SEGMENT_SIZE, unapplied).close();
+
+        // Assert
+        assertEquals(List.of(1L), unapplied.stream().map(Entry::seq).toList());
+    }
+
+    @Test
+    void open_UnknownStatusCode_FailsInsteadOfGuessing() throws Exception {
+        // Arrange
+        try (TaskWriteJournal journal = TaskWriteJournal.open(directory, SEGMENT_SIZE, new ArrayList<>())) {
+            journal.sync(journal.append(7L, 1L, TaskStatus.DONE));
+        }
+        Path segment = directory.resolve(String.format("journal-%020d.log", 1));
+        byte[] record = new byte[TaskWriteJournal.RECORD_SIZE];
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.readFully(record);
+            // DONE is stored as code 2, whatever its position in the enum
+            assertEquals(2, record[24]);
+            record[24] = 9;
+            CRC32C crc = new CRC32C();
+            crc.update(record, 0, 28);
+            ByteBuffer.wrap(record).putInt(28, (int) crc.getValue());
+            file.seek(0);
+            file.write(record);
+        }
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> TaskWriteJournal.open(directory, SEGMENT_SIZE, new ArrayList<>()));
+
+        // Assert
+        assertEquals("Unknown task status code 9 in the write-behind journal", exception.getMessage());
+    }
+}
@@ -0,0 +1,81 @@
+package com.task.task_management.service;
+
+import com.task.task_management.config.SqlStatementCounter;
+import com.task.task_management.entity.User;
+import com.task.task_management.repository.UserRepository;
+import com.task.task_management.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDetailsServiceImplIntegrationTest {
+
+    private static final String EMAIL = "principal@example.com";
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(UserDetailsServiceImpl.PRINCIPAL_CACHE).clear();
+        User user = new User();
+        user.setName("Principal");
+        user.setEmail(EMAIL);
+        user.setPassword("old-hash");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        cacheManager.getCache(UserDetailsServiceImpl.PRINCIPAL_CACHE).clear();
+    }
+
+    @Test
+    void loadUserByUsername_RepeatLookup_IsServedFromCache() {
+        // Arrange
+        UserPrincipal first = userDetailsService.loadUserByUsername(EMAIL);
+
+        // Act
+        sqlStatementCounter.start();
+        UserPrincipal second = userDetailsService.loadUserByUsername(EMAIL);
+        int statements = sqlStatementCounter.stop();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(0, statements);
+    }
+
+    @Test
+    void updatePassword_EvictsCachedPrincipal() {
+        // Arrange
+        UserPrincipal cached = userDetailsService.loadUserByUsername(EMAIL);
+
+        // Act
+        userDetailsService.updatePassword(cached, "new-hash");
+        sqlStatementCounter.start();
+        UserPrincipal reloaded = userDetailsService.loadUserByUsername(EMAIL);
+        int statements = sqlStatementCounter.stop();
+
+        // Assert
+        assertEquals("new-hash", reloaded.getPassword());
+        assertEquals(1, statements);
+    }
+}